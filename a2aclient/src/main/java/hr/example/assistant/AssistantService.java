@@ -19,6 +19,7 @@ import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
 import java.util.*;
+import java.util.function.Consumer;
 
 /**
  * AI-powered personal assistant service.
@@ -53,28 +54,7 @@ public class AssistantService {
      */
     public AssistantAction processCommand(String userCommand, List<ChatMessage> history) {
         try {
-            String systemPrompt = buildSystemPrompt();
-            
-            List<Message> messages = new ArrayList<>();
-            messages.add(new SystemMessage(systemPrompt));
-            
-            // Add conversation history
-            List<ChatMessage> recentHistory = history.size() > MAX_HISTORY_SIZE
-                    ? history.subList(history.size() - MAX_HISTORY_SIZE, history.size())
-                    : history;
-            
-            for (ChatMessage msg : recentHistory) {
-                switch (msg.role()) {
-                    case USER -> messages.add(new UserMessage(msg.content()));
-                    case ASSISTANT -> messages.add(new AssistantMessage(msg.content()));
-                    case SYSTEM -> messages.add(new SystemMessage(msg.content()));
-                }
-            }
-            
-            messages.add(new UserMessage(userCommand));
-            
-            Prompt prompt = new Prompt(messages);
-            String response = chatClient.prompt(prompt)
+            String response = chatClient.prompt(buildPrompt(userCommand, history))
                     .call()
                     .content();
 
@@ -86,6 +66,52 @@ public class AssistantService {
         }
     }
 
+    /**
+     * Process a user command, handing each chunk of raw model output to {@code onToken}
+     * as soon as it is generated. Blocks until the completion has finished.
+     */
+    public AssistantAction processCommand(String userCommand, List<ChatMessage> history, Consumer<String> onToken) {
+        try {
+            StringBuilder response = new StringBuilder();
+            chatClient.prompt(buildPrompt(userCommand, history))
+                    .stream()
+                    .content()
+                    .doOnNext(token -> {
+                        response.append(token);
+                        onToken.accept(token);
+                    })
+                    .blockLast();
+
+            logger.info("AI Response: {}", response);
+            return parseResponse(response.toString());
+        } catch (Exception e) {
+            logger.error("Error processing command", e);
+            return AssistantAction.help("I'm sorry, I encountered an error processing your request. Please try again.");
+        }
+    }
+
+    private Prompt buildPrompt(String userCommand, List<ChatMessage> history) {
+        List<Message> messages = new ArrayList<>();
+        messages.add(new SystemMessage(buildSystemPrompt()));
+        
+        // Add conversation history
+        List<ChatMessage> recentHistory = history.size() > MAX_HISTORY_SIZE
+                ? history.subList(history.size() - MAX_HISTORY_SIZE, history.size())
+                : history;
+        
+        for (ChatMessage msg : recentHistory) {
+            switch (msg.role()) {
+                case USER -> messages.add(new UserMessage(msg.content()));
+                case ASSISTANT -> messages.add(new AssistantMessage(msg.content()));
+                case SYSTEM -> messages.add(new SystemMessage(msg.content()));
+            }
+        }
+        
+        messages.add(new UserMessage(userCommand));
+        
+        return new Prompt(messages);
+    }
+
     /**
      * Execute an action that involves sending to an agent.
      * Handles both "send_to_agent" and "confirm_send" action types.
@@ -1,5 +1,6 @@
 package hr.example.assistant.ui;
 
+import com.vaadin.flow.component.DetachEvent;
 import com.vaadin.flow.component.Key;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
@@ -25,6 +26,7 @@ import hr.example.assistant.ChatMessage;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Main chat view for the Personal AI Assistant.
@@ -35,13 +37,18 @@ import java.util.Map;
 public class AssistantView extends VerticalLayout {
 
     private final AssistantService assistantService;
+    private final ChatJobExecutor jobExecutor;
     private final VerticalLayout chatMessages;
     private final TextField inputField;
     private final ComboBox<AgentBookmark> agentSelector;
     private final List<ChatMessage> chatHistory = new ArrayList<>();
+    // The reply being generated; canceled by a newer message or when the view is detached
+    private ChatJobExecutor.Job pendingJob;
+    private StreamingReply pendingReply;
 
-    public AssistantView(AssistantService assistantService) {
+    public AssistantView(AssistantService assistantService, ChatJobExecutor jobExecutor) {
         this.assistantService = assistantService;
+        this.jobExecutor = jobExecutor;
         
         setSizeFull();
         setPadding(false);
@@ -178,6 +185,7 @@ public class AssistantView extends VerticalLayout {
             contextualMessage = message;
         }
 
+        cancelPendingReply();
         addUserMessage(message);
         inputField.clear();
         
@@ -190,22 +198,66 @@ public class AssistantView extends VerticalLayout {
         
         List<ChatMessage> historyCopy = new ArrayList<>(chatHistory);
         
-        new Thread(() -> {
-            try {
-                AssistantAction action = assistantService.processCommand(contextualMessage, historyCopy);
-                
-                ui.access(() -> {
-                    chatMessages.remove(typingIndicator);
-                    handleAction(action);
-                    chatHistory.add(ChatMessage.assistant(action.message()));
-                });
-            } catch (Exception e) {
-                ui.access(() -> {
-                    chatMessages.remove(typingIndicator);
-                    addAssistantMessage("❌ Sorry, I encountered an error: " + e.getMessage());
-                });
-            }
-        }).start();
+        // Stream the reply into the chat as it is generated; the action runs once it is complete
+        StreamingReply reply = new StreamingReply(ui, chatMessages, typingIndicator,
+                text -> createMessageDiv(text, false), this::scrollToBottom);
+        try {
+            pendingJob = jobExecutor.submit(ui.getSession(), () -> {
+                try {
+                    AssistantAction action = assistantService.processCommand(contextualMessage, historyCopy, reply);
+                    if (Thread.currentThread().isInterrupted()) {
+                        return; // Canceled by a newer message or because the view was detached
+                    }
+                    ui.access(() -> {
+                        if (finishPendingReply(reply)) {
+                            handleAction(action);
+                            // Add assistant response to history
+                            chatHistory.add(ChatMessage.assistant(action.message()));
+                        }
+                    });
+                } catch (Exception e) {
+                    ui.access(() -> {
+                        if (finishPendingReply(reply)) {
+                            addAssistantMessage("❌ Sorry, I encountered an error: " + e.getMessage());
+                        }
+                    });
+                }
+            });
+            pendingReply = reply;
+        } catch (RejectedExecutionException e) {
+            reply.finish();
+            addAssistantMessage("⚠️ The assistant is busy right now. Please try again in a moment.");
+        }
+    }
+
+    /**
+     * Remove the preview of {@code reply} to make room for the final message.
+     *
+     * @return false if the reply was canceled in the meantime and should not be shown
+     */
+    private boolean finishPendingReply(StreamingReply reply) {
+        if (reply != pendingReply) {
+            return false;
+        }
+        reply.finish();
+        pendingJob = null;
+        pendingReply = null;
+        return true;
+    }
+
+    private void cancelPendingReply() {
+        if (pendingJob != null) {
+            pendingJob.cancel();
+            pendingReply.finish();
+            pendingJob = null;
+            pendingReply = null;
+        }
+    }
+
+    @Override
+    protected void onDetach(DetachEvent detachEvent) {
+        cancelPendingReply();
+        super.onDetach(detachEvent);
     }
 
     private void handleAction(AssistantAction action) {
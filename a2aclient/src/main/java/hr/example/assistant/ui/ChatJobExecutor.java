@@ -0,0 +1,153 @@
+package hr.example.assistant.ui;
+
+import com.vaadin.flow.server.VaadinSession;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded executor for the work the chat views do in the background, i.e. asking the assistant.
+ *
+ * Every job gets its own virtual thread, so waiting for the model does not hold a platform thread.
+ * At most {@code max-concurrency} jobs run at once across all users and at most {@code max-per-session}
+ * per browser session; further jobs wait for a slot, and once {@code max-queued} jobs are waiting new
+ * ones are rejected. A job is canceled by interrupting its thread, which the views do when they are
+ * detached or the user sends a newer message.
+ */
+@Component
+public class ChatJobExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChatJobExecutor.class);
+
+    private final ThreadFactory threadFactory = Thread.ofVirtual().name("assistant-ui-", 0).factory();
+    private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    private final Semaphore permits;
+    private final int capacity;
+    private final int maxPerSession;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger running = new AtomicInteger();
+    private final Timer waitTime;
+    private final Counter rejections;
+    private final Counter cancellations;
+
+    public ChatJobExecutor(MeterRegistry meterRegistry,
+                           @Value("${assistant.jobs.max-concurrency:32}") int maxConcurrency,
+                           @Value("${assistant.jobs.max-queued:200}") int maxQueued,
+                           @Value("${assistant.jobs.max-per-session:2}") int maxPerSession) {
+        this.permits = new Semaphore(maxConcurrency);
+        this.capacity = maxConcurrency + maxQueued;
+        this.maxPerSession = maxPerSession;
+        this.waitTime = Timer.builder("assistant.ui.jobs.wait")
+                .description("Time chat jobs wait for a slot before they start")
+                .register(meterRegistry);
+        this.rejections = Counter.builder("assistant.ui.jobs.rejections")
+                .description("Chat jobs rejected because the executor was saturated")
+                .register(meterRegistry);
+        this.cancellations = Counter.builder("assistant.ui.jobs.cancellations")
+                .description("Chat jobs canceled by a newer message or a detached view")
+                .register(meterRegistry);
+        Gauge.builder("assistant.ui.jobs.queued", this, executor -> executor.inFlight.get() - executor.running.get())
+                .description("Chat jobs waiting for a slot")
+                .register(meterRegistry);
+        Gauge.builder("assistant.ui.jobs.running", running, AtomicInteger::get)
+                .description("Chat jobs running")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Start {@code job} on behalf of {@code session}. Must be called with the session locked,
+     * e.g. from a UI event listener.
+     *
+     * @throws RejectedExecutionException if too many jobs are waiting
+     */
+    public Job submit(VaadinSession session, Runnable job) {
+        SessionPermits sessionPermits = session.getAttribute(SessionPermits.class);
+        if (sessionPermits == null) {
+            sessionPermits = new SessionPermits(new Semaphore(maxPerSession));
+            session.setAttribute(SessionPermits.class, sessionPermits);
+        }
+
+        if (inFlight.incrementAndGet() > capacity) {
+            inFlight.decrementAndGet();
+            rejections.increment();
+            throw new RejectedExecutionException("The assistant is busy, try again later");
+        }
+        Semaphore permitsOfSession = sessionPermits.permits();
+        long queuedAt = System.nanoTime();
+        Thread thread = threadFactory.newThread(() -> run(permitsOfSession, job, queuedAt));
+        threads.add(thread);
+        thread.start();
+        return new Job(thread);
+    }
+
+    private void run(Semaphore sessionPermits, Runnable job, long queuedAt) {
+        try {
+            sessionPermits.acquire();
+            try {
+                permits.acquire();
+                waitTime.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                running.incrementAndGet();
+                try {
+                    job.run();
+                } finally {
+                    running.decrementAndGet();
+                    permits.release();
+                }
+            } finally {
+                sessionPermits.release();
+            }
+        } catch (InterruptedException e) {
+            // Canceled before it started
+        } catch (RuntimeException e) {
+            logger.error("Chat job failed", e);
+        } finally {
+            inFlight.decrementAndGet();
+            threads.remove(Thread.currentThread());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        threads.forEach(Thread::interrupt);
+    }
+
+    /**
+     * A submitted job.
+     */
+    public final class Job {
+        private final Thread thread;
+
+        private Job(Thread thread) {
+            this.thread = thread;
+        }
+
+        /**
+         * Cancel the job by interrupting it. The job should not touch the UI once it sees
+         * that its thread was interrupted.
+         */
+        public void cancel() {
+            if (thread.isAlive()) {
+                cancellations.increment();
+                thread.interrupt();
+            }
+        }
+    }
+
+    // Kept in the VaadinSession, which may be serialized
+    private record SessionPermits(Semaphore permits) implements Serializable {}
+}
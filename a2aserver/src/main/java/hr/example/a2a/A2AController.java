@@ -1,153 +1,529 @@
 package hr.example.a2a;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import hr.example.a2a.model.A2ARequest;
 import hr.example.a2a.model.A2AResponse;
 import hr.example.a2a.model.A2ATask;
-import hr.example.a2a.model.AgentCard;
+import hr.example.a2a.model.PushNotificationConfig;
+import hr.example.a2a.push.PushDestinations;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * REST Controller implementing the A2A (Agent-to-Agent) protocol.
  * 
  * Endpoints:
  * - GET /.well-known/agent.json - Returns the agent card (discovery)
- * - POST /a2a - JSON-RPC endpoint for task operations
+ * - POST /a2a - JSON-RPC endpoint for task operations (SSE for tasks/sendSubscribe and tasks/resubscribe)
  */
 @RestController
 public class A2AController {
 
     private static final Logger logger = LoggerFactory.getLogger(A2AController.class);
+    private static final Set<String> STREAMING_METHODS = Set.of("tasks/sendSubscribe", "tasks/resubscribe");
+    private static final Set<String> METHODS = Set.of("tasks/send", "tasks/get", "tasks/cancel");
+    private static final long STREAM_TIMEOUT_MS = 5 * 60 * 1000;
+    private static final String API_KEY_HEADER = "X-API-Key";
 
     private final A2AService a2aService;
+    private final AgentCardCache agentCardCache;
+    private final A2ARateLimiter rateLimiter;
+    private final PushDestinations pushDestinations;
+    private final ObjectMapper objectMapper;
+    private final boolean asyncSendByDefault;
+    private final int maxBatchSize;
+    private final CacheControl agentCardCacheControl;
+    // JSON-RPC requests are answered asynchronously so that slow skills do not hold servlet threads
+    private final A2ARequestExecutor requestExecutor;
+    private final MeterRegistry meterRegistry;
+    private final Timer parseTimer;
+    private final Timer serializationTimer;
 
-    public A2AController(A2AService a2aService) {
+    public A2AController(A2AService a2aService,
+                         AgentCardCache agentCardCache,
+                         A2ARateLimiter rateLimiter,
+                         PushDestinations pushDestinations,
+                         A2ARequestExecutor requestExecutor,
+                         ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry,
+                         @Value("${a2a.tasks.async-send:false}") boolean asyncSendByDefault,
+                         @Value("${a2a.batch.max-size:100}") int maxBatchSize,
+                         @Value("${a2a.agent-card.max-age:5m}") Duration agentCardMaxAge) {
         this.a2aService = a2aService;
+        this.agentCardCache = agentCardCache;
+        this.rateLimiter = rateLimiter;
+        this.pushDestinations = pushDestinations;
+        this.requestExecutor = requestExecutor;
+        this.objectMapper = objectMapper;
+        this.asyncSendByDefault = asyncSendByDefault;
+        this.maxBatchSize = maxBatchSize;
+        this.agentCardCacheControl = CacheControl.maxAge(agentCardMaxAge).cachePublic();
+        this.meterRegistry = meterRegistry;
+        this.parseTimer = Timer.builder("a2a.rpc.parse")
+                .description("Time to bind a JSON-RPC request")
+                .register(meterRegistry);
+        this.serializationTimer = Timer.builder("a2a.rpc.serialization")
+                .description("Time to serialize a JSON-RPC response")
+                .register(meterRegistry);
     }
 
     /**
      * Agent Card endpoint - allows other agents to discover this agent's capabilities.
+     * The card is served from pre-serialized bytes, gzipped when the client accepts it,
+     * and answered with 304 Not Modified when If-None-Match carries its ETag.
      */
     @GetMapping(value = "/.well-known/agent.json", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<AgentCard> getAgentCard(HttpServletRequest request) {
-        String baseUrl = getBaseUrl(request);
-        return ResponseEntity.ok(AgentCard.createDefault(baseUrl));
+    public ResponseEntity<byte[]> getAgentCard(HttpServletRequest request,
+                                               @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                               @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        AgentCardCache.CachedCard card = agentCardCache.get(getBaseUrl(request));
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        String etag = gzip ? card.gzipEtag() : card.etag();
+
+        if (card.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(agentCardCacheControl)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .cacheControl(agentCardCacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(card.gzipped());
+        }
+        return response.body(card.json());
     }
 
     /**
      * Main A2A JSON-RPC endpoint.
-     * Supports methods: tasks/send, tasks/get, tasks/cancel
+     * Supports methods: tasks/send, tasks/get, tasks/cancel, and the streaming
+     * methods tasks/sendSubscribe and tasks/resubscribe, which answer with an SSE stream.
+     * A JSON array of requests is handled as a JSON-RPC batch. A body that is not valid JSON is answered
+     * with a parse error ({@code -32700}), so the body is read here rather than bound by Spring.
+     * New tasks are rate limited per caller, identified by the {@code X-API-Key} header or the remote address.
+     * Requests are processed on virtual threads, releasing the servlet thread while the skill runs.
+     */
+    @PostMapping(value = "/a2a", consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Object handleA2ARequest(@RequestBody(required = false) byte[] json, HttpServletRequest httpRequest) {
+        JsonNode body = readTree(json);
+        if (body == null) {
+            return respond(A2AResponse.error(null, A2AResponse.PARSE_ERROR, "Parse error"));
+        }
+
+        String caller = rateLimiter.callerOf(httpRequest.getHeader(API_KEY_HEADER), httpRequest.getRemoteAddr());
+        if (body.isArray()) {
+            return CompletableFuture.supplyAsync(() -> handleBatch(body, caller), requestExecutor);
+        }
+
+        A2ARequest request;
+        try {
+            request = parseRequest(body);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            return respond(A2AResponse.error(null, A2AResponse.INVALID_REQUEST, "Invalid request"));
+        }
+
+        // Streaming methods always answer with an event stream, errors included
+        if (request.method() != null && STREAMING_METHODS.contains(request.method())) {
+            logger.info("Received A2A request: method={}, id={}", request.method(), request.id());
+            return handleStreamingRequest(request, caller);
+        }
+
+        return CompletableFuture.supplyAsync(() -> respond(dispatch(request, caller)), requestExecutor);
+    }
+
+    /**
+     * Handle a JSON-RPC batch. Entries are executed in parallel on virtual threads and answered in
+     * request order; entries without an id are notifications and get no response.
+     */
+    private ResponseEntity<byte[]> handleBatch(JsonNode batch, String caller) {
+        if (batch.isEmpty()) {
+            return respond(A2AResponse.error(null, A2AResponse.INVALID_REQUEST, "Empty batch"));
+        }
+        if (batch.size() > maxBatchSize) {
+            return respond(A2AResponse.error(null, A2AResponse.INVALID_REQUEST,
+                    "Batch of " + batch.size() + " requests exceeds the limit of " + maxBatchSize));
+        }
+
+        logger.info("Received A2A batch of {} requests", batch.size());
+
+        List<Future<A2AResponse>> futures = new ArrayList<>(batch.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (JsonNode entry : batch) {
+                futures.add(executor.submit(() -> dispatchBatchEntry(entry, caller)));
+            }
+        }
+
+        List<A2AResponse> responses = new ArrayList<>(futures.size());
+        for (Future<A2AResponse> future : futures) {
+            A2AResponse response;
+            if (future.state() == Future.State.SUCCESS) {
+                response = future.resultNow();
+            } else {
+                // Its id is unknown, as the entry failed outside of execute()
+                logger.error("A2A batch entry ended in state {}", future.state(),
+                        future.state() == Future.State.FAILED ? future.exceptionNow() : null);
+                response = A2AResponse.error(null, A2AResponse.INTERNAL_ERROR, "Internal error");
+            }
+            if (response != null) {
+                responses.add(response);
+            }
+        }
+
+        // A batch of notifications only gets no response at all
+        return responses.isEmpty() ? ResponseEntity.noContent().build() : respond(responses);
+    }
+
+    private A2AResponse dispatchBatchEntry(JsonNode entry, String caller) {
+        A2ARequest request;
+        try {
+            if (!entry.isObject()) {
+                throw new IllegalArgumentException("Batch entry is not an object");
+            }
+            request = parseRequest(entry);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            return A2AResponse.error(null, A2AResponse.INVALID_REQUEST, "Invalid request");
+        }
+
+        A2AResponse response = request.method() != null && STREAMING_METHODS.contains(request.method())
+                ? A2AResponse.error(request.id(), A2AResponse.INVALID_REQUEST, "Streaming methods cannot be used in a batch")
+                : dispatch(request, caller);
+        return request.id() != null ? response : null;
+    }
+
+    /**
+     * The request body as a JSON tree, or null if it is empty or not valid JSON.
      */
-    @PostMapping(value = "/a2a", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<A2AResponse> handleA2ARequest(@RequestBody A2ARequest request) {
+    private JsonNode readTree(byte[] json) {
+        if (json == null || json.length == 0) {
+            return null;
+        }
+        try {
+            JsonNode body = objectMapper.readTree(json);
+            return body == null || body.isMissingNode() ? null : body;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private A2ARequest parseRequest(JsonNode body) throws JsonProcessingException {
+        long start = System.nanoTime();
+        try {
+            return objectMapper.treeToValue(body, A2ARequest.class);
+        } finally {
+            parseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Serialize the response here rather than in the message converter, so that the time it takes is measured.
+     */
+    private ResponseEntity<byte[]> respond(Object response) {
+        long start = System.nanoTime();
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize A2A response", e);
+        } finally {
+            serializationTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(json);
+    }
+
+    /**
+     * Execute a request, timing it by method and outcome.
+     */
+    private A2AResponse dispatch(A2ARequest request, String caller) {
+        long start = System.nanoTime();
+        A2AResponse response = execute(request, caller);
+        Timer.builder("a2a.rpc.requests")
+                .description("JSON-RPC requests, from dispatch until the response is ready")
+                .tag("method", request.method() != null && METHODS.contains(request.method()) ? request.method() : "unknown")
+                .tag("outcome", outcome(response))
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return response;
+    }
+
+    private static String outcome(A2AResponse response) {
+        if (response.error() == null) {
+            return "success";
+        }
+        return switch (response.error().code()) {
+            case A2AResponse.INVALID_REQUEST -> "invalid_request";
+            case A2AResponse.METHOD_NOT_FOUND -> "method_not_found";
+            case A2AResponse.INVALID_PARAMS -> "invalid_params";
+            case A2AResponse.TASK_NOT_FOUND -> "task_not_found";
+            case A2AResponse.SERVER_BUSY -> "server_busy";
+            case A2AResponse.RATE_LIMITED -> "rate_limited";
+            default -> "error";
+        };
+    }
+
+    private A2AResponse execute(A2ARequest request, String caller) {
         logger.info("Received A2A request: method={}, id={}", request.method(), request.id());
 
-        if (!"2.0".equals(request.jsonrpc())) {
-            return ResponseEntity.ok(A2AResponse.error(request.id(), A2AResponse.INVALID_REQUEST, "Invalid JSON-RPC version"));
+        if (!A2ARequest.JSON_RPC_VERSION.equals(request.jsonrpc())) {
+            return A2AResponse.error(request.id(), A2AResponse.INVALID_REQUEST, "Invalid JSON-RPC version");
+        }
+        if (request.method() == null) {
+            return A2AResponse.error(request.id(), A2AResponse.INVALID_REQUEST, "method is required");
         }
 
         try {
             return switch (request.method()) {
-                case "tasks/send" -> handleTasksSend(request);
+                case "tasks/send" -> handleTasksSend(request, caller);
                 case "tasks/get" -> handleTasksGet(request);
                 case "tasks/cancel" -> handleTasksCancel(request);
-                default -> ResponseEntity.ok(A2AResponse.error(request.id(), A2AResponse.METHOD_NOT_FOUND, "Unknown method: " + request.method()));
+                default -> A2AResponse.error(request.id(), A2AResponse.METHOD_NOT_FOUND, "Unknown method: " + request.method());
             };
         } catch (Exception e) {
             logger.error("Error processing A2A request", e);
-            return ResponseEntity.ok(A2AResponse.error(request.id(), A2AResponse.INTERNAL_ERROR, e.getMessage()));
+            return A2AResponse.error(request.id(), A2AResponse.INTERNAL_ERROR, e.getMessage());
         }
     }
 
     /**
      * Handle tasks/send - Create and execute a new task.
+     * With {@code "async": true} in params (or a2a.tasks.async-send=true) the task is only
+     * queued and returned as submitted; poll tasks/get for the outcome.
      */
-    @SuppressWarnings("unchecked")
-    private ResponseEntity<A2AResponse> handleTasksSend(A2ARequest request) {
-        Map<String, Object> params = request.params();
-        if (params == null) {
-            return ResponseEntity.ok(A2AResponse.error(request.id(), A2AResponse.INVALID_PARAMS, "params is required"));
-        }
-
-        String skillId = (String) params.get("skill");
-        if (skillId == null) {
-            // Try to get from message content for natural language requests
-            Map<String, Object> message = (Map<String, Object>) params.get("message");
-            if (message != null && message.containsKey("parts")) {
-                skillId = "ask-assistant";
-                // Extract text from parts
-                var parts = (java.util.List<Map<String, Object>>) message.get("parts");
-                if (!parts.isEmpty()) {
-                    String text = (String) parts.get(0).get("text");
-                    params = Map.of("message", text);
-                }
-            } else {
-                return ResponseEntity.ok(A2AResponse.error(request.id(), A2AResponse.INVALID_PARAMS, "skill or message is required"));
-            }
+    private A2AResponse handleTasksSend(A2ARequest request, String caller) {
+        JsonNode params = request.params();
+        if (params == null || !params.isObject()) {
+            return A2AResponse.error(request.id(), A2AResponse.INVALID_PARAMS, "params is required");
         }
 
-        Map<String, Object> input = (Map<String, Object>) params.getOrDefault("input", params);
+        boolean async = params.path("async").isBoolean() ? params.get("async").asBoolean() : asyncSendByDefault;
 
-        A2ATask task = a2aService.executeTask(skillId, input);
+        SkillInvocation invocation = parseSkillInvocation(params);
+        if (invocation == null) {
+            return A2AResponse.error(request.id(), A2AResponse.INVALID_PARAMS, "skill or message is required");
+        }
 
-        return ResponseEntity.ok(A2AResponse.success(request.id(), Map.of(
-                "id", task.getId(),
-                "status", task.getStatus().name().toLowerCase(),
-                "result", task.getResult() != null ? task.getResult() : Map.of(),
-                "artifacts", task.getArtifacts()
-        )));
+        PushNotificationConfig pushNotification;
+        try {
+            pushNotification = parsePushNotification(params);
+        } catch (IllegalArgumentException e) {
+            return A2AResponse.error(request.id(), A2AResponse.INVALID_PARAMS, e.getMessage());
+        }
+
+        Duration retryAfter = rateLimiter.tryAcquire(caller, invocation.skillId());
+        if (retryAfter != null) {
+            return A2AResponse.error(request.id(), A2AResponse.RATE_LIMITED, rateLimitedMessage(invocation),
+                    retryAfterData(retryAfter));
+        }
+
+        A2ATask task;
+        try {
+            task = async
+                    ? a2aService.submitTask(invocation.skillId(), invocation.input(), pushNotification, null)
+                    : a2aService.executeTask(invocation.skillId(), invocation.input(), pushNotification);
+        } catch (RejectedExecutionException e) {
+            return A2AResponse.error(request.id(), A2AResponse.SERVER_BUSY, e.getMessage());
+        }
+
+        return A2AResponse.success(request.id(), toTaskResult(task));
+    }
+
+    /**
+     * Handle tasks/sendSubscribe and tasks/resubscribe - stream task updates over SSE.
+     * sendSubscribe always executes the task asynchronously; resubscribe attaches to an existing task.
+     */
+    private SseEmitter handleStreamingRequest(A2ARequest request, String caller) {
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        A2ATaskStream stream = new A2ATaskStream(request.id(), emitter);
+
+        if (!A2ARequest.JSON_RPC_VERSION.equals(request.jsonrpc())) {
+            stream.error(A2AResponse.INVALID_REQUEST, "Invalid JSON-RPC version");
+            return emitter;
+        }
+
+        JsonNode params = request.params();
+        try {
+            if ("tasks/sendSubscribe".equals(request.method())) {
+                SkillInvocation invocation = params != null && params.isObject() ? parseSkillInvocation(params) : null;
+                if (invocation == null) {
+                    stream.error(A2AResponse.INVALID_PARAMS, "skill or message is required");
+                } else {
+                    PushNotificationConfig pushNotification = parsePushNotification(params);
+                    Duration retryAfter = rateLimiter.tryAcquire(caller, invocation.skillId());
+                    if (retryAfter != null) {
+                        stream.error(A2AResponse.RATE_LIMITED, rateLimitedMessage(invocation), retryAfterData(retryAfter));
+                    } else {
+                        a2aService.submitTask(invocation.skillId(), invocation.input(), pushNotification, stream);
+                    }
+                }
+            } else {
+                if (params == null || !params.hasNonNull("id")) {
+                    stream.error(A2AResponse.INVALID_PARAMS, "task id is required");
+                } else {
+                    String taskId = params.get("id").asText();
+                    if (a2aService.subscribe(taskId, stream) == null) {
+                        stream.error(A2AResponse.TASK_NOT_FOUND, "Task not found: " + taskId);
+                    }
+                }
+            }
+        } catch (RejectedExecutionException e) {
+            stream.error(A2AResponse.SERVER_BUSY, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            stream.error(A2AResponse.INVALID_PARAMS, e.getMessage());
+        } catch (Exception e) {
+            logger.error("Error processing streaming A2A request", e);
+            stream.error(A2AResponse.INTERNAL_ERROR, e.getMessage());
+        }
+        return emitter;
     }
 
     /**
      * Handle tasks/get - Get the status of an existing task.
      */
-    private ResponseEntity<A2AResponse> handleTasksGet(A2ARequest request) {
-        Map<String, Object> params = request.params();
-        if (params == null || !params.containsKey("id")) {
-            return ResponseEntity.ok(A2AResponse.error(request.id(), A2AResponse.INVALID_PARAMS, "task id is required"));
+    private A2AResponse handleTasksGet(A2ARequest request) {
+        JsonNode params = request.params();
+        if (params == null || !params.hasNonNull("id")) {
+            return A2AResponse.error(request.id(), A2AResponse.INVALID_PARAMS, "task id is required");
         }
 
-        String taskId = (String) params.get("id");
+        String taskId = params.get("id").asText();
         A2ATask task = a2aService.getTask(taskId);
 
         if (task == null) {
-            return ResponseEntity.ok(A2AResponse.error(request.id(), A2AResponse.TASK_NOT_FOUND, "Task not found: " + taskId));
+            return A2AResponse.error(request.id(), A2AResponse.TASK_NOT_FOUND, "Task not found: " + taskId);
         }
 
-        return ResponseEntity.ok(A2AResponse.success(request.id(), Map.of(
-                "id", task.getId(),
-                "status", task.getStatus().name().toLowerCase(),
-                "result", task.getResult() != null ? task.getResult() : Map.of(),
-                "artifacts", task.getArtifacts()
-        )));
+        return A2AResponse.success(request.id(), toTaskResult(task));
     }
 
     /**
      * Handle tasks/cancel - Cancel a running task.
      */
-    private ResponseEntity<A2AResponse> handleTasksCancel(A2ARequest request) {
-        Map<String, Object> params = request.params();
-        if (params == null || !params.containsKey("id")) {
-            return ResponseEntity.ok(A2AResponse.error(request.id(), A2AResponse.INVALID_PARAMS, "task id is required"));
+    private A2AResponse handleTasksCancel(A2ARequest request) {
+        JsonNode params = request.params();
+        if (params == null || !params.hasNonNull("id")) {
+            return A2AResponse.error(request.id(), A2AResponse.INVALID_PARAMS, "task id is required");
         }
 
-        String taskId = (String) params.get("id");
+        String taskId = params.get("id").asText();
         boolean canceled = a2aService.cancelTask(taskId);
 
         if (!canceled) {
-            return ResponseEntity.ok(A2AResponse.error(request.id(), A2AResponse.TASK_NOT_FOUND, "Task not found or cannot be canceled: " + taskId));
+            return A2AResponse.error(request.id(), A2AResponse.TASK_NOT_FOUND, "Task not found or cannot be canceled: " + taskId);
         }
 
-        return ResponseEntity.ok(A2AResponse.success(request.id(), Map.of(
+        return A2AResponse.success(request.id(), Map.of(
                 "id", taskId,
                 "status", "canceled"
-        )));
+        ));
+    }
+
+    /**
+     * Resolve the skill and its input from tasks/send params. A request without a skill but with
+     * a message is treated as a natural language request for the ask-assistant skill.
+     *
+     * @return the invocation, or null if params name neither a skill nor a message
+     */
+    private SkillInvocation parseSkillInvocation(JsonNode params) {
+        JsonNode skill = params.get("skill");
+        if (skill != null && skill.isTextual()) {
+            return new SkillInvocation(skill.asText(), params.has("input") ? params.get("input") : params);
+        }
+
+        // Natural language request: use the text of the first message part
+        JsonNode parts = params.path("message").path("parts");
+        if (!parts.isArray()) {
+            return null;
+        }
+        ObjectNode input = objectMapper.createObjectNode();
+        if (!parts.isEmpty() && parts.get(0).hasNonNull("text")) {
+            input.put("message", parts.get(0).get("text").asText());
+        }
+        return new SkillInvocation("ask-assistant", input);
+    }
+
+    /**
+     * Read the optional {@code pushNotification} config from params.
+     *
+     * @throws IllegalArgumentException if it is present but invalid, or its URL is not allowed (see {@link PushDestinations})
+     */
+    private PushNotificationConfig parsePushNotification(JsonNode params) {
+        JsonNode config = params.get("pushNotification");
+        if (config == null || config.isNull()) {
+            return null;
+        }
+        if (!config.isObject()) {
+            throw new IllegalArgumentException("pushNotification must be an object");
+        }
+        PushNotificationConfig pushNotification = new PushNotificationConfig(config.path("url").asText(null),
+                config.path("token").asText(null));
+        try {
+            pushDestinations.check(pushNotification.url());
+        } catch (UnknownHostException e) {
+            throw new IllegalArgumentException("pushNotification.url host cannot be resolved");
+        }
+        return pushNotification;
+    }
+
+    private record SkillInvocation(String skillId, JsonNode input) {}
+
+    private static String rateLimitedMessage(SkillInvocation invocation) {
+        return "Rate limit exceeded for skill " + invocation.skillId() + ", try again later";
+    }
+
+    /**
+     * Error data telling a rate limited caller when to retry, in whole seconds (rounded up).
+     */
+    private static Map<String, Object> retryAfterData(Duration retryAfter) {
+        long seconds = Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+        return Map.of("retryAfterSeconds", seconds);
+    }
+
+    private Map<String, Object> toTaskResult(A2ATask task) {
+        A2ATask.State state = task.snapshot();
+        return Map.of(
+                "id", task.getId(),
+                "status", state.status().name().toLowerCase(),
+                "result", state.result() != null ? state.result() : Map.of(),
+                "artifacts", state.artifacts(),
+                "history", state.history().stream()
+                        .map(transition -> Map.of(
+                                "status", transition.status().name().toLowerCase(),
+                                "timestamp", transition.at().toString()))
+                        .toList()
+        );
     }
 
     private String getBaseUrl(HttpServletRequest request) {
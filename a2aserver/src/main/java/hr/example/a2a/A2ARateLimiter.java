@@ -0,0 +1,162 @@
+package hr.example.a2a;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import hr.example.a2a.skill.SkillHandler;
+import hr.example.a2a.skill.SkillRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Token-bucket rate limiting of task submissions per caller.
+ *
+ * Every caller has one bucket per budget. Skills that call the model share the {@code llm} budget,
+ * all others the {@code deterministic} budget, unless a skill has a limit of its own
+ * ({@code a2a.rate-limit.skills.<skill-id>.capacity} and {@code .period}), in which case it is
+ * counted against that limit only. A bucket holds up to {@code capacity} tokens and is refilled
+ * evenly, so that {@code capacity} tasks per {@code period} are admitted in the long run.
+ */
+@Component
+public class A2ARateLimiter {
+
+    private static final String LLM = "llm";
+    private static final String DETERMINISTIC = "deterministic";
+    // Idle callers are forgotten after this long; their bucket would be full again anyway
+    private static final Duration IDLE_EXPIRY = Duration.ofMinutes(30);
+    private static final int MAX_BUCKETS = 100_000;
+
+    private final boolean enabled;
+    private final Set<String> apiKeys;
+    private final Map<String, Budget> budgetsBySkill;
+    private final Budget llmBudget;
+    private final Budget deterministicBudget;
+    private final MeterRegistry meterRegistry;
+    private final Cache<BucketKey, TokenBucket> buckets = Caffeine.newBuilder()
+            .expireAfterAccess(IDLE_EXPIRY)
+            .maximumSize(MAX_BUCKETS)
+            .build();
+
+    public A2ARateLimiter(SkillRegistry skillRegistry,
+                          Environment environment,
+                          MeterRegistry meterRegistry,
+                          @Value("${a2a.rate-limit.enabled:true}") boolean enabled,
+                          @Value("${a2a.rate-limit.api-keys:}") List<String> apiKeys,
+                          @Value("${a2a.rate-limit.llm.capacity:10}") int llmCapacity,
+                          @Value("${a2a.rate-limit.llm.period:1m}") Duration llmPeriod,
+                          @Value("${a2a.rate-limit.deterministic.capacity:120}") int deterministicCapacity,
+                          @Value("${a2a.rate-limit.deterministic.period:1m}") Duration deterministicPeriod) {
+        this.enabled = enabled;
+        this.apiKeys = apiKeys.stream().filter(key -> !key.isBlank()).collect(Collectors.toUnmodifiableSet());
+        this.meterRegistry = meterRegistry;
+        this.llmBudget = new Budget(LLM, llmCapacity, llmPeriod);
+        this.deterministicBudget = new Budget(DETERMINISTIC, deterministicCapacity, deterministicPeriod);
+
+        Map<String, Budget> bySkill = new HashMap<>();
+        for (SkillHandler<?, ?> handler : skillRegistry.handlers()) {
+            String prefix = "a2a.rate-limit.skills." + handler.id() + ".";
+            Integer capacity = environment.getProperty(prefix + "capacity", Integer.class);
+            Budget budget;
+            if (capacity != null) {
+                budget = new Budget("skill:" + handler.id(), capacity,
+                        environment.getProperty(prefix + "period", Duration.class, Duration.ofMinutes(1)));
+            } else {
+                budget = handler.usesModel() ? llmBudget : deterministicBudget;
+            }
+            bySkill.put(handler.id(), budget);
+        }
+        this.budgetsBySkill = Map.copyOf(bySkill);
+    }
+
+    /**
+     * Identify the caller of a request: a configured API key from the {@code X-API-Key} header,
+     * or else the remote address. Unknown keys are ignored, so that a client cannot get a fresh
+     * budget by making up keys.
+     */
+    public String callerOf(String apiKey, String remoteAddress) {
+        return apiKey != null && apiKeys.contains(apiKey) ? "key:" + apiKey : "addr:" + remoteAddress;
+    }
+
+    /**
+     * Take a token for running {@code skillId} on behalf of {@code caller}.
+     * Unknown skills are counted against the deterministic budget.
+     *
+     * @return null if the task may run, otherwise how long the caller should wait before retrying
+     */
+    public Duration tryAcquire(String caller, String skillId) {
+        if (!enabled) {
+            return null;
+        }
+        Budget budget = skillId != null ? budgetsBySkill.getOrDefault(skillId, deterministicBudget) : deterministicBudget;
+        TokenBucket bucket = buckets.get(new BucketKey(caller, budget.name()), key -> new TokenBucket(budget));
+
+        long waitNanos = bucket.tryConsume();
+        if (waitNanos == 0) {
+            return null;
+        }
+        rejections(budget.name(), skillId != null && budgetsBySkill.containsKey(skillId) ? skillId : "unknown").increment();
+        return Duration.ofNanos(waitNanos);
+    }
+
+    private Counter rejections(String budget, String skill) {
+        return Counter.builder("a2a.rate-limit.rejections")
+                .description("Task submissions rejected by the rate limiter")
+                .tag("budget", budget)
+                .tag("skill", skill)
+                .register(meterRegistry);
+    }
+
+    /**
+     * A rate limit: {@code capacity} tokens, refilled at {@code capacity} per {@code period}.
+     */
+    private record Budget(String name, int capacity, Duration period) {
+        Budget {
+            if (capacity < 1 || period.isNegative() || period.isZero()) {
+                throw new IllegalArgumentException("Invalid rate limit for " + name + ": " + capacity + " per " + period);
+            }
+        }
+
+        double nanosPerToken() {
+            return (double) period.toNanos() / capacity;
+        }
+    }
+
+    private record BucketKey(String caller, String budget) {}
+
+    private static final class TokenBucket {
+        private final int capacity;
+        private final double nanosPerToken;
+        private double tokens;
+        private long refilledAt;
+
+        TokenBucket(Budget budget) {
+            this.capacity = budget.capacity();
+            this.nanosPerToken = budget.nanosPerToken();
+            this.tokens = capacity;
+            this.refilledAt = System.nanoTime();
+        }
+
+        /**
+         * @return 0 if a token was taken, otherwise the nanoseconds until one is available
+         */
+        synchronized long tryConsume() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - refilledAt) / nanosPerToken);
+            refilledAt = now;
+            if (tokens >= 1) {
+                tokens--;
+                return 0;
+            }
+            return Math.max(1, (long) Math.ceil((1 - tokens) * nanosPerToken));
+        }
+    }
+}
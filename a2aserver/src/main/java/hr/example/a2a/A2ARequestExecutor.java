@@ -0,0 +1,71 @@
+package hr.example.a2a;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs JSON-RPC requests of {@code /a2a} off the servlet thread, each on its own virtual thread.
+ *
+ * This hop is deliberately not bounded. A request thread only parses and dispatches: reads and cancels
+ * return at once, and everything that does real work is admitted first by the rate limiter and then by
+ * the bounded lanes of {@link A2ATaskExecutor}, which reject it when they are saturated. So every thread
+ * here either finishes quickly or holds a lane slot, and the number of requests in flight is already
+ * limited by the servlet container's connection limit. A second limit here would only add a queue in
+ * front of the lanes' own.
+ */
+@Component
+public class A2ARequestExecutor implements Executor {
+
+    private static final Logger logger = LoggerFactory.getLogger(A2ARequestExecutor.class);
+
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("a2a-request-", 0).factory());
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public A2ARequestExecutor(MeterRegistry meterRegistry) {
+        Gauge.builder("a2a.rpc.in-flight", inFlight, AtomicInteger::get)
+                .description("JSON-RPC requests being processed")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void execute(Runnable request) {
+        inFlight.incrementAndGet();
+        try {
+            executor.execute(() -> {
+                try {
+                    request.run();
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.decrementAndGet();
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                logger.warn("A2A request executor did not terminate in time, interrupting {} requests", inFlight.get());
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,22 +1,34 @@
 package hr.example.a2a;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import hr.example.a2a.model.A2ATask;
-import hr.example.assistant.AssistantService;
-import hr.example.assistant.NavigationAction;
-import hr.example.contact.Contact;
-import hr.example.contact.ContactService;
-import hr.example.employee.Employee;
-import hr.example.employee.EmployeeService;
-import hr.example.support.SupportTicket;
-import hr.example.support.SupportTicketService;
+import hr.example.a2a.model.A2ATaskEvent;
+import hr.example.a2a.model.PushNotificationConfig;
+import hr.example.a2a.push.PushNotificationService;
+import hr.example.a2a.skill.SkillContext;
+import hr.example.a2a.skill.SkillHandler;
+import hr.example.a2a.skill.SkillRegistry;
+import hr.example.a2a.store.TaskStore;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * Service that handles A2A protocol task execution.
@@ -26,186 +38,307 @@ public class A2AService {
 
     private static final Logger logger = LoggerFactory.getLogger(A2AService.class);
 
-    private final AssistantService assistantService;
-    private final ContactService contactService;
-    private final EmployeeService employeeService;
-    private final SupportTicketService supportTicketService;
-
-    // In-memory task storage (in production, use a database)
-    private final Map<String, A2ATask> tasks = new ConcurrentHashMap<>();
-
-    public A2AService(AssistantService assistantService,
-                      ContactService contactService,
-                      EmployeeService employeeService,
-                      SupportTicketService supportTicketService) {
-        this.assistantService = assistantService;
-        this.contactService = contactService;
-        this.employeeService = employeeService;
-        this.supportTicketService = supportTicketService;
+    private final SkillRegistry skillRegistry;
+    private final ObjectMapper objectMapper;
+    private final A2ATaskExecutor taskExecutor;
+    private final A2ATaskEventBus taskEvents;
+    private final TaskStore taskStore;
+    private final PushNotificationService pushNotifications;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Timer cancellationLatency;
+    private final Map<String, Execution> executions = new ConcurrentHashMap<>();
+
+    public A2AService(SkillRegistry skillRegistry,
+                      ObjectMapper objectMapper,
+                      A2ATaskExecutor taskExecutor,
+                      A2ATaskEventBus taskEvents,
+                      TaskStore taskStore,
+                      PushNotificationService pushNotifications,
+                      PlatformTransactionManager transactionManager,
+                      MeterRegistry meterRegistry) {
+        this.skillRegistry = skillRegistry;
+        this.objectMapper = objectMapper;
+        this.taskExecutor = taskExecutor;
+        this.taskEvents = taskEvents;
+        this.taskStore = taskStore;
+        this.pushNotifications = pushNotifications;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.cancellationLatency = Timer.builder("a2a.tasks.cancellation.latency")
+                .description("Time from tasks/cancel until the running skill has stopped")
+                .register(meterRegistry);
+
+        Gauge.builder("a2a.tasks.working", executions, Map::size)
+                .description("Tasks whose skill is currently running")
+                .register(meterRegistry);
+        Gauge.builder("a2a.tasks.store.size", taskStore, TaskStore::size)
+                .description("Tasks held by the task store")
+                .register(meterRegistry);
+        FunctionCounter.builder("a2a.tasks.store.lookups", taskStore, store -> store.stats().hits())
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("a2a.tasks.store.lookups", taskStore, store -> store.stats().misses())
+                .tag("result", "miss")
+                .register(meterRegistry);
+        FunctionCounter.builder("a2a.tasks.store.evictions", taskStore, store -> store.stats().evictions())
+                .description("Finished tasks evicted from the task store")
+                .register(meterRegistry);
     }
 
     /**
      * Execute a task based on the skill/method and input parameters.
+     * Blocks the calling thread until the skill has finished.
      */
-    public A2ATask executeTask(String skillId, Map<String, Object> input) {
-        A2ATask task = new A2ATask();
-        task.setInput(input);
-        task.setStatus(A2ATask.Status.WORKING);
-        tasks.put(task.getId(), task);
+    public A2ATask executeTask(String skillId, JsonNode input) {
+        return executeTask(skillId, input, null);
+    }
 
-        try {
-            Object result = switch (skillId) {
-                case "navigate-form" -> handleNavigateForm(input);
-                case "submit-contact" -> handleSubmitContact(input);
-                case "submit-employee" -> handleSubmitEmployee(input);
-                case "submit-support-ticket" -> handleSubmitSupportTicket(input);
-                case "ask-assistant" -> handleAskAssistant(input);
-                default -> throw new IllegalArgumentException("Unknown skill: " + skillId);
-            };
-
-            task.setStatus(A2ATask.Status.COMPLETED);
-            task.setResult(A2ATask.A2AMessage.agentMessage(result.toString()));
-            task.setArtifacts(List.of(new A2ATask.A2AArtifact(
-                    "result",
-                    "application/json",
-                    result instanceof Map ? (Map<String, Object>) result : Map.of("data", result)
-            )));
+    /**
+     * Execute a task and block until the skill has finished, sending push notifications
+     * about its progress to {@code pushNotification} if it is not null.
+     * The skill runs on the calling thread, but only once its executor lane has a free slot.
+     *
+     * @throws java.util.concurrent.RejectedExecutionException if the skill's executor lane is saturated
+     */
+    public A2ATask executeTask(String skillId, JsonNode input, PushNotificationConfig pushNotification) {
+        A2ATask task = newTask(skillId, input, pushNotification);
+        taskStore.save(task);
 
-        } catch (Exception e) {
-            logger.error("Task execution failed", e);
-            task.setStatus(A2ATask.Status.FAILED);
-            task.setResult(A2ATask.A2AMessage.agentMessage("Error: " + e.getMessage()));
+        try {
+            taskExecutor.run(laneFor(skillId), () -> runTask(task, skillId, input));
+        } catch (RejectedExecutionException e) {
+            taskStore.remove(task.getId());
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            finish(task, A2ATask.Status.FAILED,
+                    A2ATask.A2AMessage.agentMessage("Error: Interrupted while waiting to run"), null);
         }
-
         return task;
     }
 
     /**
-     * Get a task by ID.
+     * Store a task as SUBMITTED and execute it in the background.
+     * Returns immediately; callers track progress with {@link #getTask(String)}.
+     *
+     * @throws java.util.concurrent.RejectedExecutionException if the skill's executor lane is saturated
      */
-    public A2ATask getTask(String taskId) {
-        return tasks.get(taskId);
+    public A2ATask submitTask(String skillId, JsonNode input) {
+        return submitTask(skillId, input, null, null);
     }
 
     /**
-     * Cancel a task.
+     * Store a task as SUBMITTED, subscribe {@code listener} to its events and execute it in the background.
+     * The listener receives the SUBMITTED event before any event published by the executing thread.
+     * Both {@code pushNotification} and {@code listener} are optional.
+     *
+     * @throws java.util.concurrent.RejectedExecutionException if the skill's executor lane is saturated
      */
-    public boolean cancelTask(String taskId) {
-        A2ATask task = tasks.get(taskId);
-        if (task != null && task.getStatus() == A2ATask.Status.WORKING) {
-            task.setStatus(A2ATask.Status.CANCELED);
-            return true;
+    public A2ATask submitTask(String skillId, JsonNode input, PushNotificationConfig pushNotification,
+                              Consumer<A2ATaskEvent> listener) {
+        A2ATask task = newTask(skillId, input, pushNotification);
+        taskStore.save(task);
+
+        if (listener != null) {
+            taskEvents.subscribe(task.getId(), listener);
+            listener.accept(A2ATaskEvent.status(task));
+        }
+
+        try {
+            taskExecutor.submit(laneFor(skillId), () -> runTask(task, skillId, input));
+        } catch (RejectedExecutionException e) {
+            taskStore.remove(task.getId());
+            if (listener != null) {
+                taskEvents.unsubscribe(task.getId(), listener);
+            }
+            throw e;
         }
-        return false;
+        return task;
+    }
+
+    /**
+     * Skills that call the model run in their own lane, so that they cannot hold up the fast ones.
+     */
+    private A2ATaskExecutor.Lane laneFor(String skillId) {
+        SkillHandler<?, ?> handler = skillRegistry.find(skillId);
+        return handler != null && handler.usesModel() ? A2ATaskExecutor.Lane.LLM : A2ATaskExecutor.Lane.DETERMINISTIC;
     }
 
-    private Map<String, Object> handleNavigateForm(Map<String, Object> input) {
-        String formId = (String) input.get("formId");
-        if (formId == null) {
-            throw new IllegalArgumentException("formId is required");
+    private A2ATask newTask(String skillId, JsonNode input, PushNotificationConfig pushNotification) {
+        A2ATask task = new A2ATask();
+        task.setSkillId(skillId);
+        task.setInput(input);
+        task.setPushNotification(pushNotification);
+        return task;
+    }
+
+    /**
+     * Subscribe to the events of an existing task. The listener immediately receives the current state;
+     * for a task that has already finished that is its terminal event and no further events follow.
+     *
+     * @return the task, or null if it does not exist
+     */
+    public A2ATask subscribe(String taskId, Consumer<A2ATaskEvent> listener) {
+        A2ATask task = taskStore.get(taskId);
+        if (task == null) {
+            return null;
         }
 
-        String route = switch (formId) {
-            case "contact" -> "/contact";
-            case "employee" -> "/employee";
-            case "support" -> "/support";
-            default -> throw new IllegalArgumentException("Unknown form: " + formId);
-        };
-
-        return Map.of(
-                "success", true,
-                "formId", formId,
-                "route", route,
-                "message", "Navigation to " + formId + " form ready. Route: " + route
-        );
-    }
-
-    private Map<String, Object> handleSubmitContact(Map<String, Object> input) {
-        String firstName = getRequiredString(input, "firstName");
-        String lastName = getRequiredString(input, "lastName");
-        String email = getRequiredString(input, "email");
-        String phone = (String) input.get("phone");
-        String company = (String) input.get("company");
-        String message = (String) input.get("message");
-
-        Contact contact = contactService.createContact(firstName, lastName, email, phone, company, message);
-
-        return Map.of(
-                "success", true,
-                "contactId", contact.getId(),
-                "message", "Contact form submitted successfully for " + firstName + " " + lastName
-        );
-    }
-
-    private Map<String, Object> handleSubmitEmployee(Map<String, Object> input) {
-        String firstName = getRequiredString(input, "firstName");
-        String lastName = getRequiredString(input, "lastName");
-        String email = getRequiredString(input, "email");
-        String department = (String) input.get("department");
-        String position = (String) input.get("position");
-
-        LocalDate hireDate = null;
-        if (input.get("hireDate") != null) {
-            hireDate = LocalDate.parse(input.get("hireDate").toString());
+        taskEvents.subscribe(taskId, listener);
+        if (task.getStatus().isTerminal()) {
+            taskEvents.unsubscribe(taskId, listener);
+            listener.accept(A2ATaskEvent.terminal(task));
+        } else {
+            listener.accept(A2ATaskEvent.status(task));
         }
+        return task;
+    }
 
-        Double salary = null;
-        if (input.get("salary") != null) {
-            salary = Double.parseDouble(input.get("salary").toString());
+    private void runTask(A2ATask task, String skillId, JsonNode input) {
+        // A task canceled while queued is never started
+        if (!task.start()) {
+            return;
         }
+        String taskId = task.getId();
+        Execution execution = new Execution(Thread.currentThread());
+        executions.put(taskId, execution);
+        SkillHandler<?, ?> handler = skillRegistry.find(skillId);
+
+        try {
+            taskStore.save(task);
+            publish(task, A2ATaskEvent.status(task));
 
-        Employee employee = employeeService.createEmployee(firstName, lastName, email, department, position, hireDate, salary);
+            if (handler == null) {
+                throw new IllegalArgumentException("Unknown skill: " + skillId);
+            }
 
-        return Map.of(
-                "success", true,
-                "employeeId", employee.getId(),
-                "message", "Employee " + firstName + " " + lastName + " registered successfully"
-        );
-    }
+            // Only pay for token streaming when somebody is listening
+            SkillContext context = new SkillContext(taskId, taskEvents.hasSubscribers(taskId)
+                    ? text -> taskEvents.publish(A2ATaskEvent.partial(taskId, text))
+                    : null, () -> task.getStatus() == A2ATask.Status.CANCELED);
 
-    private Map<String, Object> handleSubmitSupportTicket(Map<String, Object> input) {
-        String subject = getRequiredString(input, "subject");
-        String description = getRequiredString(input, "description");
-        String reporterName = getRequiredString(input, "reporterName");
-        String reporterEmail = getRequiredString(input, "reporterEmail");
+            Map<String, Object> result = invoke(handler, input, context);
 
-        SupportTicket.Priority priority = null;
-        if (input.get("priority") != null) {
-            priority = SupportTicket.Priority.valueOf(input.get("priority").toString().toUpperCase());
+            finish(task, A2ATask.Status.COMPLETED, A2ATask.A2AMessage.agentMessage(result.toString()),
+                    List.of(new A2ATask.A2AArtifact("result", "application/json", result)));
+
+        } catch (Exception e) {
+            if (task.getStatus() == A2ATask.Status.CANCELED) {
+                logger.debug("Task {} stopped after cancellation: {}", taskId, e.toString());
+            } else {
+                logger.error("Task execution failed", e);
+                finish(task, A2ATask.Status.FAILED, A2ATask.A2AMessage.agentMessage("Error: " + e.getMessage()), null);
+            }
+        } finally {
+            executions.remove(taskId);
+            Timer.builder("a2a.skill.executions")
+                    .description("Skill executions, from start until the task has finished")
+                    // Unknown skill ids come from the request and would make the tag unbounded
+                    .tag("skill", handler != null ? skillId : "unknown")
+                    .tag("outcome", task.getStatus().name().toLowerCase())
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - execution.startedAt, TimeUnit.NANOSECONDS);
+            // Clear an interrupt aimed at this task so it does not leak into the thread's next job
+            Thread.interrupted();
+            if (execution.cancelRequestedAt != 0) {
+                cancellationLatency.record(System.nanoTime() - execution.cancelRequestedAt, TimeUnit.NANOSECONDS);
+            }
         }
+    }
 
-        SupportTicket.Category category = null;
-        if (input.get("category") != null) {
-            category = SupportTicket.Category.valueOf(input.get("category").toString().toUpperCase());
+    private void finish(A2ATask task, A2ATask.Status status, A2ATask.A2AMessage result, List<A2ATask.A2AArtifact> artifacts) {
+        // Does nothing if the task was canceled in the meantime; cancelTask has already stored and published it
+        if (task.finish(status, result, artifacts)) {
+            taskStore.save(task);
+            publish(task, A2ATaskEvent.terminal(task));
         }
+    }
 
-        SupportTicket ticket = supportTicketService.createTicket(subject, description, reporterName, reporterEmail, priority, category);
+    /**
+     * Publish a status change to subscribers and, if requested, as a push notification.
+     * Partial output is only streamed to subscribers.
+     */
+    private void publish(A2ATask task, A2ATaskEvent event) {
+        taskEvents.publish(event);
+        pushNotifications.notify(task, event);
+    }
+
+    /**
+     * Re-run tasks that a durable task store found queued or running from before the last shutdown.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedTasks() {
+        for (A2ATask task : taskStore.takeInterruptedTasks()) {
+            logger.info("Re-queueing interrupted task {} ({})", task.getId(), task.getSkillId());
+            try {
+                taskExecutor.submit(laneFor(task.getSkillId()), () -> runTask(task, task.getSkillId(), task.getInput()));
+            } catch (RejectedExecutionException e) {
+                finish(task, A2ATask.Status.FAILED,
+                        A2ATask.A2AMessage.agentMessage("Error: Task was interrupted by a server restart"), null);
+            }
+        }
+    }
 
-        return Map.of(
-                "success", true,
-                "ticketId", ticket.getId(),
-                "message", "Support ticket created: " + subject
-        );
+    /**
+     * Get a task by ID.
+     */
+    public A2ATask getTask(String taskId) {
+        return taskStore.get(taskId);
     }
 
-    private Map<String, Object> handleAskAssistant(Map<String, Object> input) {
-        String message = getRequiredString(input, "message");
-        NavigationAction action = assistantService.processCommand(message);
+    /**
+     * Cancel a task that is still queued or running. A running skill is interrupted, which aborts
+     * a pending model call, and transactional skills roll back their database work.
+     */
+    public boolean cancelTask(String taskId) {
+        A2ATask task = taskStore.get(taskId);
+        if (task == null || !task.finish(A2ATask.Status.CANCELED, null, null)) {
+            return false;
+        }
+        // Under the map's lock, so runTask cannot unregister and move on in between
+        executions.computeIfPresent(taskId, (id, execution) -> {
+            execution.cancelRequestedAt = System.nanoTime();
+            execution.thread.interrupt();
+            return execution;
+        });
+        taskStore.save(task);
+        publish(task, A2ATaskEvent.terminal(task));
+        return true;
+    }
 
-        return Map.of(
-                "action", action.action(),
-                "formId", action.formId() != null ? action.formId() : "",
-                "formData", action.formData(),
-                "message", action.message()
-        );
+    /**
+     * Bind the input to the skill's input record, execute the skill and convert its output to a map.
+     */
+    @SuppressWarnings("unchecked")
+    private <I, O> Map<String, Object> invoke(SkillHandler<I, O> handler, JsonNode input, SkillContext context)
+            throws JsonProcessingException {
+        I typedInput = objectMapper.treeToValue(
+                input != null && !input.isNull() ? input : objectMapper.createObjectNode(), handler.inputType());
+        O output = handler.transactional()
+                ? transactionTemplate.execute(status -> {
+                    O value = handler.execute(typedInput, context);
+                    if (context.isCanceled()) {
+                        status.setRollbackOnly();
+                    }
+                    return value;
+                })
+                : handler.execute(typedInput, context);
+        context.throwIfCanceled();
+        return objectMapper.convertValue(output, Map.class);
     }
 
-    private String getRequiredString(Map<String, Object> input, String key) {
-        Object value = input.get(key);
-        if (value == null || value.toString().isBlank()) {
-            throw new IllegalArgumentException(key + " is required");
+    /**
+     * The thread running a task, when it started and when cancellation of the task was requested.
+     */
+    private static final class Execution {
+        final Thread thread;
+        final long startedAt = System.nanoTime();
+        volatile long cancelRequestedAt;
+
+        Execution(Thread thread) {
+            this.thread = thread;
         }
-        return value.toString();
     }
 }
 
@@ -0,0 +1,60 @@
+package hr.example.a2a;
+
+import hr.example.a2a.model.A2ATaskEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Per-task fan-out of {@link A2ATaskEvent}s to streaming subscribers.
+ * Subscriptions are dropped automatically once the last event of a task has been published.
+ */
+@Component
+public class A2ATaskEventBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(A2ATaskEventBus.class);
+
+    private final Map<String, List<Consumer<A2ATaskEvent>>> subscribers = new ConcurrentHashMap<>();
+
+    public void subscribe(String taskId, Consumer<A2ATaskEvent> listener) {
+        subscribers.compute(taskId, (id, listeners) -> {
+            List<Consumer<A2ATaskEvent>> result = listeners != null ? listeners : new CopyOnWriteArrayList<>();
+            result.add(listener);
+            return result;
+        });
+    }
+
+    public void unsubscribe(String taskId, Consumer<A2ATaskEvent> listener) {
+        subscribers.computeIfPresent(taskId, (id, listeners) -> {
+            listeners.remove(listener);
+            return listeners.isEmpty() ? null : listeners;
+        });
+    }
+
+    public boolean hasSubscribers(String taskId) {
+        return subscribers.containsKey(taskId);
+    }
+
+    public void publish(A2ATaskEvent event) {
+        List<Consumer<A2ATaskEvent>> listeners = event.last()
+                ? subscribers.remove(event.taskId())
+                : subscribers.get(event.taskId());
+        if (listeners == null) {
+            return;
+        }
+
+        for (Consumer<A2ATaskEvent> listener : listeners) {
+            try {
+                listener.accept(event);
+            } catch (Exception e) {
+                logger.warn("Task event listener failed for task {}", event.taskId(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package hr.example.a2a;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded executor for A2A task execution, split into independent lanes.
+ *
+ * Skills that call the model run in the {@link Lane#LLM} lane and all other skills in the
+ * {@link Lane#DETERMINISTIC} lane. Each lane has its own concurrency limit and queue, so a backlog
+ * of slow model calls never delays form submissions. Every job gets its own virtual thread, so
+ * waiting on the LLM or the database does not hold a platform thread. At most {@code max-concurrency}
+ * jobs of a lane run at once; further jobs wait for a permit, and once {@code max-queued} jobs are
+ * waiting new submissions to that lane are rejected.
+ */
+@Component
+public class A2ATaskExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(A2ATaskExecutor.class);
+
+    public enum Lane {
+        LLM, DETERMINISTIC
+    }
+
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("a2a-task-", 0).factory());
+    private final Map<Lane, LaneState> lanes = new EnumMap<>(Lane.class);
+
+    public A2ATaskExecutor(MeterRegistry meterRegistry,
+                           @Value("${a2a.tasks.lanes.llm.max-concurrency:8}") int llmMaxConcurrency,
+                           @Value("${a2a.tasks.lanes.llm.max-queued:100}") int llmMaxQueued,
+                           @Value("${a2a.tasks.lanes.deterministic.max-concurrency:32}") int deterministicMaxConcurrency,
+                           @Value("${a2a.tasks.lanes.deterministic.max-queued:1000}") int deterministicMaxQueued) {
+        lanes.put(Lane.LLM, new LaneState(Lane.LLM, llmMaxConcurrency, llmMaxQueued, meterRegistry));
+        lanes.put(Lane.DETERMINISTIC, new LaneState(Lane.DETERMINISTIC, deterministicMaxConcurrency,
+                deterministicMaxQueued, meterRegistry));
+    }
+
+    /**
+     * Submit a job for execution in {@code lane}.
+     *
+     * @throws RejectedExecutionException if the lane is saturated or the executor is shut down
+     */
+    public Future<?> submit(Lane lane, Runnable job) {
+        LaneState state = lanes.get(lane);
+        state.admit();
+        long queuedAt = System.nanoTime();
+        try {
+            return executor.submit(() -> {
+                try {
+                    state.run(job, queuedAt);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            state.leave();
+            throw e;
+        }
+    }
+
+    /**
+     * Run a job on the calling thread, waiting until {@code lane} has a free slot.
+     * Used for synchronous execution, which obeys the same limits as submitted jobs.
+     *
+     * @throws RejectedExecutionException if the lane is saturated
+     * @throws InterruptedException if the calling thread is interrupted while waiting; the job has not run
+     */
+    public void run(Lane lane, Runnable job) throws InterruptedException {
+        LaneState state = lanes.get(lane);
+        state.admit();
+        state.run(job, System.nanoTime());
+    }
+
+    /**
+     * Number of jobs in {@code lane} that are running or waiting for a permit.
+     */
+    public int getInFlight(Lane lane) {
+        return lanes.get(lane).inFlight.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                logger.warn("A2A task executor did not terminate in time, interrupting {} jobs",
+                        lanes.values().stream().mapToInt(state -> state.inFlight.get()).sum());
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Limits and meters of one lane.
+     */
+    private static final class LaneState {
+        private final Lane lane;
+        private final Semaphore permits;
+        private final int capacity;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger running = new AtomicInteger();
+        private final Timer waitTime;
+        private final Counter rejections;
+
+        LaneState(Lane lane, int maxConcurrency, int maxQueued, MeterRegistry meterRegistry) {
+            this.lane = lane;
+            this.permits = new Semaphore(maxConcurrency);
+            this.capacity = maxConcurrency + maxQueued;
+            String tag = lane.name().toLowerCase();
+            this.waitTime = Timer.builder("a2a.tasks.lane.wait")
+                    .description("Time tasks wait in their lane's queue before they start")
+                    .tag("lane", tag)
+                    .register(meterRegistry);
+            this.rejections = Counter.builder("a2a.tasks.lane.rejections")
+                    .description("Tasks rejected because their lane was saturated")
+                    .tag("lane", tag)
+                    .register(meterRegistry);
+            Gauge.builder("a2a.tasks.lane.queued", this, state -> state.inFlight.get() - state.running.get())
+                    .description("Tasks waiting in the lane's queue")
+                    .tag("lane", tag)
+                    .register(meterRegistry);
+            Gauge.builder("a2a.tasks.lane.running", running, AtomicInteger::get)
+                    .description("Tasks running in the lane")
+                    .tag("lane", tag)
+                    .register(meterRegistry);
+        }
+
+        void admit() {
+            if (inFlight.incrementAndGet() > capacity) {
+                inFlight.decrementAndGet();
+                rejections.increment();
+                throw new RejectedExecutionException("Task executor lane " + lane.name().toLowerCase()
+                        + " is saturated, try again later");
+            }
+        }
+
+        void leave() {
+            inFlight.decrementAndGet();
+        }
+
+        void run(Runnable job, long queuedAt) throws InterruptedException {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                leave();
+                throw e;
+            }
+            waitTime.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+            running.incrementAndGet();
+            try {
+                job.run();
+            } finally {
+                running.decrementAndGet();
+                permits.release();
+                leave();
+            }
+        }
+    }
+}
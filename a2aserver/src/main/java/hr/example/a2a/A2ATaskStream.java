@@ -0,0 +1,90 @@
+package hr.example.a2a;
+
+import hr.example.a2a.model.A2AResponse;
+import hr.example.a2a.model.A2ATaskEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Writes the events of one task to a Server-Sent Events stream. Every SSE message is a
+ * JSON-RPC response carrying the id of the streaming request; the stream is completed
+ * after the last event of the task.
+ */
+class A2ATaskStream implements Consumer<A2ATaskEvent> {
+
+    private static final Logger logger = LoggerFactory.getLogger(A2ATaskStream.class);
+
+    private final String requestId;
+    private final SseEmitter emitter;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    A2ATaskStream(String requestId, SseEmitter emitter) {
+        this.requestId = requestId;
+        this.emitter = emitter;
+        emitter.onCompletion(() -> closed.set(true));
+        emitter.onTimeout(() -> closed.set(true));
+        emitter.onError(e -> closed.set(true));
+    }
+
+    @Override
+    public void accept(A2ATaskEvent event) {
+        if (closed.get()) {
+            return;
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("id", event.taskId());
+        result.put("status", event.status().name().toLowerCase());
+        if (event.message() != null) {
+            result.put(event.last() ? "result" : "message", event.message());
+        }
+        if (event.last()) {
+            result.put("artifacts", event.artifacts());
+        }
+        result.put("final", event.last());
+
+        send(A2AResponse.success(requestId, result));
+        if (event.last()) {
+            close();
+        }
+    }
+
+    /**
+     * Send a JSON-RPC error and end the stream.
+     */
+    void error(int code, String message) {
+        error(code, message, null);
+    }
+
+    /**
+     * Send a JSON-RPC error with additional {@code data} and end the stream.
+     */
+    void error(int code, String message, Object data) {
+        send(A2AResponse.error(requestId, code, message, data));
+        close();
+    }
+
+    private void send(A2AResponse response) {
+        try {
+            emitter.send(SseEmitter.event().data(response, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the task itself keeps running
+            logger.debug("Dropping task stream for request {}: {}", requestId, e.getMessage());
+            closed.set(true);
+        }
+    }
+
+    private void close() {
+        if (closed.compareAndSet(false, true)) {
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package hr.example.a2a;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import hr.example.a2a.model.AgentCard;
+import hr.example.a2a.skill.SkillRegistry;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized agent cards, cached per base URL.
+ *
+ * The card only depends on the host it is served from, so it is built and serialized
+ * once per base URL and kept both as plain JSON and gzipped, together with its ETag.
+ */
+@Component
+public class AgentCardCache {
+
+    // Bounded because the base URL comes from the request's Host header
+    private static final int MAX_BASE_URLS = 64;
+
+    private final SkillRegistry skillRegistry;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, CachedCard> cards = Caffeine.newBuilder()
+            .maximumSize(MAX_BASE_URLS)
+            .build();
+
+    public AgentCardCache(SkillRegistry skillRegistry, ObjectMapper objectMapper) {
+        this.skillRegistry = skillRegistry;
+        this.objectMapper = objectMapper;
+    }
+
+    public CachedCard get(String baseUrl) {
+        return cards.get(baseUrl, this::build);
+    }
+
+    private CachedCard build(String baseUrl) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(AgentCard.createDefault(baseUrl, skillRegistry.agentSkills()));
+            String hash = Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(MessageDigest.getInstance("SHA-256").digest(json));
+            return new CachedCard(json, gzip(json), "\"" + hash + "\"", "\"" + hash + "-gzip\"");
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize agent card", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Card bytes with the strong ETag of each encoding.
+     */
+    public record CachedCard(byte[] json, byte[] gzipped, String etag, String gzipEtag) {
+
+        /**
+         * Whether an If-None-Match header value matches either representation of this card.
+         */
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            for (String tag : ifNoneMatch.split(",")) {
+                String candidate = tag.trim();
+                if (candidate.startsWith("W/")) {
+                    candidate = candidate.substring(2);
+                }
+                if (candidate.equals("*") || candidate.equals(etag) || candidate.equals(gzipEtag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -1,15 +1,16 @@
 package hr.example.a2a.model;
 
-import java.util.Map;
+import com.fasterxml.jackson.databind.JsonNode;
 
 /**
  * Request model for A2A protocol JSON-RPC style requests.
+ * Params are kept as a JSON tree so skill input can be bound straight to the skill's input type.
  */
 public record A2ARequest(
         String jsonrpc,
         String method,
         String id,
-        Map<String, Object> params
+        JsonNode params
 ) {
     public static final String JSON_RPC_VERSION = "2.0";
 }
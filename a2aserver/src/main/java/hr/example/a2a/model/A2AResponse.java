@@ -12,15 +12,15 @@ public record A2AResponse(
         A2AError error
 ) {
     public static A2AResponse success(String id, Object result) {
-        return new A2AResponse("2.0", id, result, null);
+        return new A2AResponse(A2ARequest.JSON_RPC_VERSION, id, result, null);
     }
 
     public static A2AResponse error(String id, int code, String message) {
-        return new A2AResponse("2.0", id, null, new A2AError(code, message, null));
+        return new A2AResponse(A2ARequest.JSON_RPC_VERSION, id, null, new A2AError(code, message, null));
     }
 
     public static A2AResponse error(String id, int code, String message, Object data) {
-        return new A2AResponse("2.0", id, null, new A2AError(code, message, data));
+        return new A2AResponse(A2ARequest.JSON_RPC_VERSION, id, null, new A2AError(code, message, data));
     }
 
     public record A2AError(
@@ -39,5 +39,7 @@ public record A2AResponse(
     // A2A specific error codes
     public static final int TASK_NOT_FOUND = -32001;
     public static final int TASK_FAILED = -32002;
+    public static final int SERVER_BUSY = -32003;
+    public static final int RATE_LIMITED = -32004;
 }
 
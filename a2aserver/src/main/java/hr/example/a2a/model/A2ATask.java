@@ -1,34 +1,75 @@
 package hr.example.a2a.model;
 
+import com.fasterxml.jackson.databind.JsonNode;
+
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Represents a task in the A2A protocol.
+ *
+ * The mutable part of a task (status, result, artifacts and history) is an immutable {@link State}
+ * that is replaced with compare-and-set, so concurrent transitions, e.g. a cancel racing the
+ * executing thread, never lose an update and readers always see a consistent snapshot.
  */
 public class A2ATask {
 
     public enum Status {
-        SUBMITTED, WORKING, INPUT_REQUIRED, COMPLETED, FAILED, CANCELED
+        SUBMITTED, WORKING, INPUT_REQUIRED, COMPLETED, FAILED, CANCELED;
+
+        public boolean isTerminal() {
+            return this == COMPLETED || this == FAILED || this == CANCELED;
+        }
+
+        /**
+         * Legal transitions: SUBMITTED to WORKING, WORKING to INPUT_REQUIRED and back, and any
+         * unfinished status to a terminal one. Terminal statuses are final.
+         */
+        public boolean canTransitionTo(Status next) {
+            return switch (this) {
+                case SUBMITTED -> next == WORKING || next.isTerminal();
+                case WORKING -> next == INPUT_REQUIRED || next.isTerminal();
+                case INPUT_REQUIRED -> next == WORKING || next.isTerminal();
+                case COMPLETED, FAILED, CANCELED -> false;
+            };
+        }
     }
 
     private String id;
     private String sessionId;
-    private Status status;
-    private Map<String, Object> input;
-    private A2AMessage result;
-    private List<A2AArtifact> artifacts;
+    private String skillId;
+    private JsonNode input;
     private Instant createdAt;
-    private Instant updatedAt;
+    private PushNotificationConfig pushNotification;
+    private final AtomicReference<State> state;
 
     public A2ATask() {
         this.id = UUID.randomUUID().toString();
         this.createdAt = Instant.now();
-        this.updatedAt = Instant.now();
-        this.status = Status.SUBMITTED;
-        this.artifacts = List.of();
+        this.state = new AtomicReference<>(new State(Status.SUBMITTED, null, List.of(), createdAt,
+                List.of(new Transition(Status.SUBMITTED, createdAt))));
+    }
+
+    /**
+     * Recreate a task with its original identity, timestamps and history, e.g. when loading it from storage.
+     * A missing history is replaced by a single entry for the current status.
+     */
+    public A2ATask(String id, String sessionId, String skillId, Status status, JsonNode input,
+                   A2AMessage result, List<A2AArtifact> artifacts, Instant createdAt, Instant updatedAt,
+                   List<Transition> history) {
+        this.id = id;
+        this.sessionId = sessionId;
+        this.skillId = skillId;
+        this.input = input;
+        this.createdAt = createdAt;
+        this.state = new AtomicReference<>(new State(status, result, artifacts != null ? artifacts : List.of(),
+                updatedAt, history != null && !history.isEmpty()
+                        ? List.copyOf(history)
+                        : List.of(new Transition(status, updatedAt))));
     }
 
     public String getId() {
@@ -47,37 +88,106 @@ public class A2ATask {
         this.sessionId = sessionId;
     }
 
-    public Status getStatus() {
-        return status;
+    public String getSkillId() {
+        return skillId;
+    }
+
+    public void setSkillId(String skillId) {
+        this.skillId = skillId;
     }
 
-    public void setStatus(Status status) {
-        this.status = status;
-        this.updatedAt = Instant.now();
+    /**
+     * The current state. Use this instead of several getters when the values must belong together.
+     */
+    public State snapshot() {
+        return state.get();
     }
 
-    public Map<String, Object> getInput() {
+    public Status getStatus() {
+        return state.get().status();
+    }
+
+    public JsonNode getInput() {
         return input;
     }
 
-    public void setInput(Map<String, Object> input) {
+    public void setInput(JsonNode input) {
         this.input = input;
     }
 
     public A2AMessage getResult() {
-        return result;
+        return state.get().result();
+    }
+
+    public List<A2AArtifact> getArtifacts() {
+        return state.get().artifacts();
     }
 
-    public void setResult(A2AMessage result) {
-        this.result = result;
+    public List<Transition> getHistory() {
+        return state.get().history();
     }
 
-    public List<A2AArtifact> getArtifacts() {
-        return artifacts;
+    /**
+     * Move a SUBMITTED task to WORKING.
+     *
+     * @return false if the task is no longer SUBMITTED, e.g. because it was canceled while queued
+     */
+    public boolean start() {
+        return getStatus() == Status.SUBMITTED && transition(Status.WORKING, null, null);
     }
 
-    public void setArtifacts(List<A2AArtifact> artifacts) {
-        this.artifacts = artifacts;
+    /**
+     * Move the task to a terminal status, setting its result and artifacts when given.
+     * Terminal states are final: once a task is COMPLETED, FAILED or CANCELED this does nothing,
+     * so a skill that returns after its task was canceled cannot overwrite the cancellation.
+     *
+     * @return false if the task had already finished
+     */
+    public boolean finish(Status status, A2AMessage result, List<A2AArtifact> artifacts) {
+        if (!status.isTerminal()) {
+            throw new IllegalArgumentException(status + " is not a terminal status");
+        }
+        return transition(status, result, artifacts);
+    }
+
+    /**
+     * Put an unfinished task back to SUBMITTED so it can run again, e.g. after a restart interrupted it.
+     * This is the only way back to SUBMITTED and is not available once the task has finished.
+     * A task that is still SUBMITTED is left as it is, so its history does not repeat the entry.
+     *
+     * @return false if the task had already finished
+     */
+    public boolean requeue() {
+        State current;
+        do {
+            current = state.get();
+            if (current.status().isTerminal()) {
+                return false;
+            }
+            if (current.status() == Status.SUBMITTED) {
+                return true;
+            }
+        } while (!state.compareAndSet(current, current.next(Status.SUBMITTED, null, null)));
+        return true;
+    }
+
+    private boolean transition(Status next, A2AMessage result, List<A2AArtifact> artifacts) {
+        State current;
+        do {
+            current = state.get();
+            if (!current.status().canTransitionTo(next)) {
+                return false;
+            }
+        } while (!state.compareAndSet(current, current.next(next, result, artifacts)));
+        return true;
+    }
+
+    public PushNotificationConfig getPushNotification() {
+        return pushNotification;
+    }
+
+    public void setPushNotification(PushNotificationConfig pushNotification) {
+        this.pushNotification = pushNotification;
     }
 
     public Instant getCreatedAt() {
@@ -85,9 +195,39 @@ public class A2ATask {
     }
 
     public Instant getUpdatedAt() {
-        return updatedAt;
+        return state.get().updatedAt();
+    }
+
+    /**
+     * Immutable snapshot of the mutable part of a task.
+     *
+     * @param history every status the task has been in, oldest first
+     */
+    public record State(
+            Status status,
+            A2AMessage result,
+            List<A2AArtifact> artifacts,
+            Instant updatedAt,
+            List<Transition> history
+    ) {
+        State next(Status status, A2AMessage result, List<A2AArtifact> artifacts) {
+            Instant now = Instant.now();
+            List<Transition> nextHistory = new ArrayList<>(history.size() + 1);
+            nextHistory.addAll(history);
+            nextHistory.add(new Transition(status, now));
+            return new State(status, result != null ? result : this.result,
+                    artifacts != null ? artifacts : this.artifacts, now, List.copyOf(nextHistory));
+        }
     }
 
+    /**
+     * One entry of a task's history: the status it entered and when.
+     */
+    public record Transition(
+            Status status,
+            Instant at
+    ) {}
+
     public record A2AMessage(
             String role,
             List<A2APart> parts
@@ -109,4 +249,3 @@ public class A2ATask {
             Map<String, Object> data
     ) {}
 }
-
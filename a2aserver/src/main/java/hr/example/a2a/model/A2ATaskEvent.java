@@ -0,0 +1,28 @@
+package hr.example.a2a.model;
+
+import java.util.List;
+
+/**
+ * An update about a task, delivered to subscribers of tasks/sendSubscribe and tasks/resubscribe.
+ * Partial events carry a chunk of agent text; the last event of a task carries its final result.
+ */
+public record A2ATaskEvent(
+        String taskId,
+        A2ATask.Status status,
+        A2ATask.A2AMessage message,
+        List<A2ATask.A2AArtifact> artifacts,
+        boolean last
+) {
+    public static A2ATaskEvent status(A2ATask task) {
+        return new A2ATaskEvent(task.getId(), task.getStatus(), null, List.of(), false);
+    }
+
+    public static A2ATaskEvent partial(String taskId, String text) {
+        return new A2ATaskEvent(taskId, A2ATask.Status.WORKING, A2ATask.A2AMessage.agentMessage(text), List.of(), false);
+    }
+
+    public static A2ATaskEvent terminal(A2ATask task) {
+        A2ATask.State state = task.snapshot();
+        return new A2ATaskEvent(task.getId(), state.status(), state.result(), state.artifacts(), true);
+    }
+}
@@ -0,0 +1,32 @@
+package hr.example.a2a.model;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+
+/**
+ * Where to deliver push notifications for a task, set with {@code pushNotification} in the
+ * params of tasks/send. The token is sent back in the X-A2A-Notification-Token header so the
+ * receiver can check that a notification belongs to a task it created.
+ */
+public record PushNotificationConfig(
+        String url,
+        String token
+) {
+    /**
+     * @throws IllegalArgumentException if the URL is missing or not an absolute http(s) URL
+     */
+    public PushNotificationConfig {
+        if (url == null || url.isBlank()) {
+            throw new IllegalArgumentException("pushNotification.url is required");
+        }
+        try {
+            URI uri = new URI(url);
+            if (!"http".equalsIgnoreCase(uri.getScheme()) && !"https".equalsIgnoreCase(uri.getScheme())
+                    || uri.getHost() == null) {
+                throw new IllegalArgumentException("pushNotification.url must be an absolute http(s) URL");
+            }
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("pushNotification.url is not a valid URL");
+        }
+    }
+}
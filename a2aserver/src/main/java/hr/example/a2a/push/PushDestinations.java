@@ -0,0 +1,86 @@
+package hr.example.a2a.push;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.Inet4Address;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Decides which URLs push notifications may be POSTed to.
+ *
+ * The URL comes from whoever sent the task, so without a check the server could be made to send
+ * requests to itself, its actuator, the private network or a cloud metadata service. By default a
+ * host is allowed only if all of its addresses are public: loopback, link-local, site-local and
+ * unique local IPv6, shared (100.64/10), wildcard and multicast addresses are refused. With
+ * {@code a2a.push.allowed-hosts} only the listed hosts are allowed, private ones included, e.g.
+ * {@code localhost} for the test receiver.
+ *
+ * The host is checked when a task is sent and again before every delivery, so a name that has
+ * since been pointed at a private address is not delivered to.
+ */
+@Component
+public class PushDestinations {
+
+    private final Set<String> allowedHosts;
+
+    public PushDestinations(@Value("${a2a.push.allowed-hosts:}") List<String> allowedHosts) {
+        this.allowedHosts = allowedHosts.stream()
+                .map(host -> host.strip().toLowerCase(Locale.ROOT))
+                .filter(host -> !host.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * @throws IllegalArgumentException if notifications must not be sent to {@code url}
+     * @throws UnknownHostException     if its host cannot be resolved
+     */
+    public void check(String url) throws UnknownHostException {
+        String host = URI.create(url).getHost();
+        if (host == null) {
+            throw new IllegalArgumentException("pushNotification.url has no host");
+        }
+        host = host.toLowerCase(Locale.ROOT);
+        if (host.startsWith("[") && host.endsWith("]")) {
+            host = host.substring(1, host.length() - 1);
+        }
+
+        if (!allowedHosts.isEmpty()) {
+            if (!allowedHosts.contains(host)) {
+                throw new IllegalArgumentException("pushNotification.url host " + host + " is not allowed");
+            }
+            return;
+        }
+        for (InetAddress address : InetAddress.getAllByName(host)) {
+            if (!isPublic(address)) {
+                throw new IllegalArgumentException("pushNotification.url must not point to a private or local address");
+            }
+        }
+    }
+
+    static boolean isPublic(InetAddress address) {
+        if (address.isLoopbackAddress() || address.isLinkLocalAddress() || address.isSiteLocalAddress()
+                || address.isAnyLocalAddress() || address.isMulticastAddress()) {
+            return false;
+        }
+        byte[] bytes = address.getAddress();
+        if (address instanceof Inet4Address) {
+            int first = bytes[0] & 0xff;
+            int second = bytes[1] & 0xff;
+            // 0.0.0.0/8 ("this network") and 100.64.0.0/10 (carrier-grade NAT)
+            return first != 0 && !(first == 100 && second >= 64 && second < 128);
+        }
+        if (address instanceof Inet6Address) {
+            // Unique local addresses, fc00::/7
+            return (bytes[0] & 0xfe) != 0xfc;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,144 @@
+package hr.example.a2a.push;
+
+import jakarta.persistence.*;
+import org.jspecify.annotations.Nullable;
+
+import java.time.Instant;
+
+/**
+ * A push notification waiting in the outbound queue. Delivered notifications are deleted;
+ * ones that run out of attempts stay behind as DEAD (the dead-letter store).
+ */
+@Entity
+@Table(name = "push_notification",
+        indexes = @Index(name = "idx_push_notification_due", columnList = "status, next_attempt_at"))
+public class PushNotification {
+
+    public enum Status {
+        PENDING, DEAD
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "push_notification_seq")
+    @SequenceGenerator(name = "push_notification_seq", sequenceName = "PushNotification_SEQ", allocationSize = 50)
+    @Column(name = "push_notification_id")
+    private Long id;
+
+    @Column(name = "task_id", nullable = false)
+    private String taskId;
+
+    @Column(name = "url", nullable = false, length = 2048)
+    private String url;
+
+    @Column(name = "token")
+    @Nullable
+    private String token;
+
+    @Lob
+    @Column(name = "payload", nullable = false)
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private Status status = Status.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(name = "last_error", length = 1000)
+    @Nullable
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    protected PushNotification() {
+    }
+
+    public PushNotification(String taskId, String url, @Nullable String token, String payload) {
+        this.taskId = taskId;
+        this.url = url;
+        this.token = token;
+        this.payload = payload;
+        this.createdAt = Instant.now();
+        this.nextAttemptAt = createdAt;
+    }
+
+    public @Nullable Long getId() {
+        return id;
+    }
+
+    public String getTaskId() {
+        return taskId;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public @Nullable String getToken() {
+        return token;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public Instant getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public @Nullable String getLastError() {
+        return lastError;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Record a failed delivery attempt and schedule the next one.
+     */
+    void retryAt(Instant nextAttemptAt, String error) {
+        this.attempts++;
+        this.nextAttemptAt = nextAttemptAt;
+        this.lastError = error;
+    }
+
+    /**
+     * Give up on this notification.
+     */
+    void deadLetter(String error) {
+        this.attempts++;
+        this.status = Status.DEAD;
+        this.lastError = error;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null || !getClass().isAssignableFrom(obj.getClass())) {
+            return false;
+        }
+        if (obj == this) {
+            return true;
+        }
+        PushNotification other = (PushNotification) obj;
+        return getId() != null && getId().equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
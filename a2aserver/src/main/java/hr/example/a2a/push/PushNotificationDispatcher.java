@@ -0,0 +1,194 @@
+package hr.example.a2a.push;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers queued push notifications.
+ *
+ * A single dispatcher thread polls the queue for due notifications, groups them by destination
+ * (URL and token) and hands each group to a small pool of HTTP workers, which POST up to
+ * {@code batchSize} notifications as one JSON array. Each destination has at most one request
+ * in flight; notifications are sent oldest first, but one that is being retried can arrive after
+ * newer ones. Delivery is at least once: a notification that was sent but not yet removed from
+ * the queue is sent again after a restart.
+ */
+@Component
+public class PushNotificationDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(PushNotificationDispatcher.class);
+    private static final String TOKEN_HEADER = "X-A2A-Notification-Token";
+
+    private final PushNotificationQueue queue;
+    private final PushDestinations destinations;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Duration requestTimeout;
+    private final HttpClient httpClient;
+    private final ExecutorService workers;
+    private final Set<Destination> busyDestinations = ConcurrentHashMap.newKeySet();
+    private final Semaphore wakeUp = new Semaphore(0);
+    private final Thread dispatcher;
+    private volatile boolean running = true;
+
+    public PushNotificationDispatcher(PushNotificationQueue queue,
+                                      PushDestinations destinations,
+                                      @Value("${a2a.push.workers:4}") int workers,
+                                      @Value("${a2a.push.batch-size:20}") int batchSize,
+                                      @Value("${a2a.push.poll-interval:1s}") Duration pollInterval,
+                                      @Value("${a2a.push.request-timeout:10s}") Duration requestTimeout) {
+        this.queue = queue;
+        this.destinations = destinations;
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.requestTimeout = requestTimeout;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(requestTimeout)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        this.workers = Executors.newFixedThreadPool(workers,
+                Thread.ofPlatform().name("a2a-push-worker-", 0).daemon().factory());
+        this.dispatcher = Thread.ofPlatform().name("a2a-push-dispatcher").daemon().unstarted(this::dispatchLoop);
+    }
+
+    @PostConstruct
+    void start() {
+        dispatcher.start();
+    }
+
+    /**
+     * Check the queue now instead of at the next poll, e.g. after enqueueing a notification.
+     */
+    public void wakeUp() {
+        if (wakeUp.availablePermits() == 0) {
+            wakeUp.release();
+        }
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            try {
+                wakeUp.tryAcquire(pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+                wakeUp.drainPermits();
+                dispatchDue();
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Push notification dispatch failed", e);
+            }
+        }
+    }
+
+    private void dispatchDue() {
+        // Taken before the query: a worker that finishes in between may already have removed rows
+        // that the query still returns, and those must not be sent again
+        Set<Destination> busy = Set.copyOf(busyDestinations);
+        Map<Destination, List<PushNotification>> byDestination = new LinkedHashMap<>();
+        for (PushNotification notification : queue.findDue(batchSize * 10)) {
+            Destination destination = new Destination(notification.getUrl(), notification.getToken());
+            if (!busy.contains(destination)) {
+                List<PushNotification> batch = byDestination.computeIfAbsent(destination, d -> new ArrayList<>());
+                if (batch.size() < batchSize) {
+                    batch.add(notification);
+                }
+            }
+        }
+
+        byDestination.forEach((destination, batch) -> {
+            busyDestinations.add(destination);
+            workers.execute(() -> {
+                try {
+                    deliver(destination, batch);
+                } finally {
+                    busyDestinations.remove(destination);
+                }
+                // Pick up whatever is left for this destination without waiting for the next poll
+                wakeUp();
+            });
+        });
+    }
+
+    private void deliver(Destination destination, List<PushNotification> batch) {
+        List<Long> ids = batch.stream().map(PushNotification::getId).toList();
+        String body = batch.stream().map(PushNotification::getPayload).collect(Collectors.joining(",", "[", "]"));
+
+        try {
+            // Resolved again for every delivery: the name may point somewhere else than when the task was sent
+            destinations.check(destination.url());
+        } catch (IllegalArgumentException e) {
+            logger.warn("Push notification to {} refused: {}", destination.url(), e.getMessage());
+            queue.failed(ids, e.getMessage(), true);
+            return;
+        } catch (IOException e) {
+            logger.warn("Push notification delivery to {} failed: {}", destination.url(), e.toString());
+            queue.failed(ids, e.toString(), false);
+            return;
+        }
+
+        try {
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(destination.url()))
+                    .timeout(requestTimeout)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body));
+            if (destination.token() != null) {
+                request.header(TOKEN_HEADER, destination.token());
+            }
+
+            int status = httpClient.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (status >= 200 && status < 300) {
+                queue.delivered(ids);
+                logger.debug("Delivered {} push notifications to {}", ids.size(), destination.url());
+            } else {
+                // A 4xx other than a timeout or rate limit will not go away by sending the request again
+                boolean permanent = status >= 400 && status < 500 && status != 408 && status != 429;
+                logger.warn("Push notification receiver {} answered {}", destination.url(), status);
+                queue.failed(ids, "HTTP " + status, permanent);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            logger.warn("Push notification delivery to {} failed: {}", destination.url(), e.toString());
+            queue.failed(ids, e.toString(), false);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        dispatcher.interrupt();
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(requestTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        httpClient.close();
+    }
+
+    private record Destination(String url, String token) {}
+}
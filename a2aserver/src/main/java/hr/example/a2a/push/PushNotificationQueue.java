@@ -0,0 +1,88 @@
+package hr.example.a2a.push;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Persistent outbound queue of push notifications.
+ *
+ * Failed deliveries are retried with exponential backoff (with 20% jitter) until
+ * {@code maxAttempts} is reached, after which the notification is dead-lettered.
+ */
+@Service
+public class PushNotificationQueue {
+
+    private final PushNotificationRepository repository;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    public PushNotificationQueue(PushNotificationRepository repository,
+                                 @Value("${a2a.push.max-attempts:8}") int maxAttempts,
+                                 @Value("${a2a.push.initial-backoff:1s}") Duration initialBackoff,
+                                 @Value("${a2a.push.max-backoff:5m}") Duration maxBackoff) {
+        this.repository = repository;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    @Transactional
+    public PushNotification enqueue(PushNotification notification) {
+        return repository.save(notification);
+    }
+
+    /**
+     * Pending notifications whose next attempt is due, oldest first.
+     */
+    @Transactional(readOnly = true)
+    public List<PushNotification> findDue(int limit) {
+        return repository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+                PushNotification.Status.PENDING, Instant.now(), Pageable.ofSize(limit));
+    }
+
+    @Transactional
+    public void delivered(Collection<Long> ids) {
+        repository.deleteAllByIdInBatch(ids);
+    }
+
+    /**
+     * Record a failed delivery of {@code ids}. A permanent failure (e.g. the receiver rejected the
+     * request) dead-letters them right away, otherwise they are retried after a backoff.
+     */
+    @Transactional
+    public void failed(Collection<Long> ids, String error, boolean permanent) {
+        Instant now = Instant.now();
+        for (PushNotification notification : repository.findAllById(ids)) {
+            if (permanent || notification.getAttempts() + 1 >= maxAttempts) {
+                notification.deadLetter(error);
+            } else {
+                notification.retryAt(now.plus(backoff(notification.getAttempts() + 1)), error);
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long countPending() {
+        return repository.countByStatus(PushNotification.Status.PENDING);
+    }
+
+    @Transactional(readOnly = true)
+    public long countDead() {
+        return repository.countByStatus(PushNotification.Status.DEAD);
+    }
+
+    private Duration backoff(int attempt) {
+        long millis = initialBackoff.toMillis() << Math.min(attempt - 1, 30);
+        millis = Math.min(millis, maxBackoff.toMillis());
+        return Duration.ofMillis((long) (millis * ThreadLocalRandom.current().nextDouble(0.8, 1.2)));
+    }
+}
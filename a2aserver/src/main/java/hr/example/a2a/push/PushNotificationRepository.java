@@ -0,0 +1,15 @@
+package hr.example.a2a.push;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface PushNotificationRepository extends JpaRepository<PushNotification, Long> {
+
+    List<PushNotification> findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+            PushNotification.Status status, Instant now, Pageable pageable);
+
+    long countByStatus(PushNotification.Status status);
+}
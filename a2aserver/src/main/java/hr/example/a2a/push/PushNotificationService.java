@@ -0,0 +1,67 @@
+package hr.example.a2a.push;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hr.example.a2a.model.A2ATask;
+import hr.example.a2a.model.A2ATaskEvent;
+import hr.example.a2a.model.PushNotificationConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Turns task events into push notifications for tasks that were sent with a
+ * {@link PushNotificationConfig}.
+ */
+@Service
+public class PushNotificationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PushNotificationService.class);
+
+    private final PushNotificationQueue queue;
+    private final PushNotificationDispatcher dispatcher;
+    private final ObjectMapper objectMapper;
+
+    public PushNotificationService(PushNotificationQueue queue,
+                                   PushNotificationDispatcher dispatcher,
+                                   ObjectMapper objectMapper) {
+        this.queue = queue;
+        this.dispatcher = dispatcher;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Queue a notification about a status change of {@code task}. Does nothing if the task has no
+     * push notification config. Never throws: a failure to queue must not fail the task itself.
+     */
+    public void notify(A2ATask task, A2ATaskEvent event) {
+        PushNotificationConfig config = task.getPushNotification();
+        if (config == null) {
+            return;
+        }
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("id", event.taskId());
+        payload.put("status", event.status().name().toLowerCase());
+        if (event.message() != null) {
+            payload.put("result", event.message());
+        }
+        if (event.last()) {
+            payload.put("artifacts", event.artifacts());
+        }
+        payload.put("final", event.last());
+        payload.put("timestamp", Instant.now().toString());
+
+        try {
+            queue.enqueue(new PushNotification(task.getId(), config.url(), config.token(),
+                    objectMapper.writeValueAsString(payload)));
+            dispatcher.wakeUp();
+        } catch (JsonProcessingException | RuntimeException e) {
+            logger.error("Failed to queue push notification for task {}", task.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package hr.example.a2a.push;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Stand-in push notification receiver for local testing. Enable it with
+ * {@code a2a.push.test-receiver.enabled=true} and send tasks with
+ * {@code "pushNotification": {"url": "http://localhost:8080/a2a/push-receiver"}};
+ * received notifications are logged.
+ */
+@RestController
+@ConditionalOnProperty(name = "a2a.push.test-receiver.enabled", havingValue = "true")
+public class PushReceiverController {
+
+    private static final Logger logger = LoggerFactory.getLogger(PushReceiverController.class);
+
+    @PostMapping("/a2a/push-receiver")
+    public ResponseEntity<Void> receive(@RequestHeader(value = "X-A2A-Notification-Token", required = false) String token,
+                                        @RequestBody JsonNode notifications) {
+        for (JsonNode notification : notifications) {
+            logger.info("Push notification (token {}): task {} is {}{}", token,
+                    notification.path("id").asText(), notification.path("status").asText(),
+                    notification.path("final").asBoolean() ? " (final)" : "");
+        }
+        return ResponseEntity.ok().build();
+    }
+}
@@ -0,0 +1,99 @@
+package hr.example.a2a.skill;
+
+import hr.example.assistant.AssistantService;
+import hr.example.assistant.NavigationAction;
+import hr.example.assistant.StreamingMessageParser;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+@Component
+@Order(50)
+public class AskAssistantSkill implements SkillHandler<AskAssistantSkill.Input, AskAssistantSkill.Output> {
+
+    public record Input(
+            @SkillParam(required = true, description = "Natural language request") String message
+    ) {}
+
+    public record Output(
+            String action,
+            String formId,
+            Map<String, Object> formData,
+            String message
+    ) {}
+
+    private final AssistantService assistantService;
+
+    public AskAssistantSkill(AssistantService assistantService) {
+        this.assistantService = assistantService;
+    }
+
+    @Override
+    public String id() {
+        return "ask-assistant";
+    }
+
+    @Override
+    public String name() {
+        return "Ask AI Assistant";
+    }
+
+    @Override
+    public String description() {
+        return "Send a natural language request to the AI assistant to navigate or fill forms";
+    }
+
+    @Override
+    public List<String> tags() {
+        return List.of("ai", "assistant", "natural-language");
+    }
+
+    @Override
+    public boolean usesModel() {
+        return true;
+    }
+
+    @Override
+    public Class<Input> inputType() {
+        return Input.class;
+    }
+
+    @Override
+    public Class<Output> outputType() {
+        return Output.class;
+    }
+
+    @Override
+    public Output execute(Input input, SkillContext context) {
+        String message = SkillHandler.required(input.message(), "message");
+
+        // Always use the streaming call: interrupting it on cancellation disposes the
+        // subscription, which closes the connection to the model instead of waiting for the reply
+        NavigationAction action = assistantService.processCommand(message, List.of(),
+                context.isStreaming() ? messageText(context.partialOutput()) : token -> { });
+        context.throwIfCanceled();
+
+        return new Output(
+                action.action(),
+                action.formId() != null ? action.formId() : "",
+                action.formData(),
+                action.message()
+        );
+    }
+
+    /**
+     * Passes on only the text of the reply's {@code message} field, not the JSON the model generates around it.
+     */
+    private static Consumer<String> messageText(Consumer<String> partialOutput) {
+        StreamingMessageParser parser = new StreamingMessageParser();
+        return chunk -> {
+            String text = parser.feed(chunk);
+            if (!text.isEmpty()) {
+                partialOutput.accept(text);
+            }
+        };
+    }
+}
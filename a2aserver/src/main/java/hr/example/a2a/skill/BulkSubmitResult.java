@@ -0,0 +1,37 @@
+package hr.example.a2a.skill;
+
+import java.util.List;
+
+/**
+ * Output of the bulk submission skills.
+ *
+ * @param results one entry per submitted record, in submission order
+ */
+public record BulkSubmitResult(
+        boolean success,
+        int total,
+        int created,
+        int failed,
+        long durationMs,
+        double recordsPerSecond,
+        List<RecordResult> results
+) {
+
+    /**
+     * Outcome of one record; {@code id} is set when it was created, {@code error} when it was rejected.
+     */
+    public record RecordResult(
+            int index,
+            boolean success,
+            Long id,
+            String error
+    ) {
+        static RecordResult created(int index, Long id) {
+            return new RecordResult(index, true, id, null);
+        }
+
+        static RecordResult failed(int index, String error) {
+            return new RecordResult(index, false, null, error);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package hr.example.a2a.skill;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Shared implementation of the bulk submission skills.
+ *
+ * Records are validated in parallel and the valid ones are persisted in chunks of
+ * {@code chunkSize}, one transaction per chunk. If a chunk fails, its records are retried
+ * one by one so that a single bad record does not fail its neighbours. When the task is
+ * canceled the current chunk is rolled back; chunks committed before stay in the database.
+ */
+@Component
+public class BulkSubmitter {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkSubmitter.class);
+
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxRecords;
+
+    public BulkSubmitter(PlatformTransactionManager transactionManager,
+                         @Value("${a2a.skills.bulk.chunk-size:500}") int chunkSize,
+                         @Value("${a2a.skills.bulk.max-records:10000}") int maxRecords) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxRecords = maxRecords;
+    }
+
+    /**
+     * Validate and persist {@code records}.
+     *
+     * @param validate converts a record to a new entity, throwing {@link IllegalArgumentException} if it is invalid
+     * @param persist  saves a chunk of entities in one transaction and returns them in the same order
+     * @param idOf     returns the generated id of a saved entity
+     */
+    public <R, E> BulkSubmitResult submit(List<R> records,
+                                          Function<R, E> validate,
+                                          Function<List<E>, List<E>> persist,
+                                          Function<E, Long> idOf,
+                                          SkillContext context) {
+        if (records == null || records.isEmpty()) {
+            throw new IllegalArgumentException("records is required");
+        }
+        if (records.size() > maxRecords) {
+            throw new IllegalArgumentException("At most " + maxRecords + " records can be submitted in one task");
+        }
+
+        long start = System.nanoTime();
+        BulkSubmitResult.RecordResult[] results = new BulkSubmitResult.RecordResult[records.size()];
+
+        // Validation is CPU-only, so it runs on the common fork-join pool
+        List<E> entities = IntStream.range(0, records.size()).parallel()
+                .mapToObj(i -> {
+                    try {
+                        if (records.get(i) == null) {
+                            throw new IllegalArgumentException("record is empty");
+                        }
+                        return validate.apply(records.get(i));
+                    } catch (IllegalArgumentException e) {
+                        results[i] = BulkSubmitResult.RecordResult.failed(i, e.getMessage());
+                        return null;
+                    }
+                })
+                .toList();
+
+        List<Integer> chunkIndexes = new ArrayList<>(chunkSize);
+        List<E> chunk = new ArrayList<>(chunkSize);
+        int processed = 0;
+        for (int i = 0; i < entities.size(); i++) {
+            E entity = entities.get(i);
+            if (entity != null) {
+                chunkIndexes.add(i);
+                chunk.add(entity);
+            }
+            if (chunk.size() == chunkSize || (i == entities.size() - 1 && !chunk.isEmpty())) {
+                context.throwIfCanceled();
+                persistChunk(chunkIndexes, chunk, index -> validate.apply(records.get(index)),
+                        batch -> persistUnlessCanceled(batch, persist, context), idOf, results);
+                context.throwIfCanceled();
+                processed += chunk.size();
+                chunkIndexes.clear();
+                chunk.clear();
+                if (context.isStreaming()) {
+                    context.partialOutput().accept("Saved " + processed + " of " + records.size() + " records\n");
+                }
+            }
+        }
+
+        long durationMs = (System.nanoTime() - start) / 1_000_000;
+        int created = (int) Arrays.stream(results).filter(BulkSubmitResult.RecordResult::success).count();
+        double recordsPerSecond = durationMs > 0 ? created * 1000.0 / durationMs : created;
+        logger.info("Bulk submission of {} records: {} created, {} failed in {} ms",
+                records.size(), created, records.size() - created, durationMs);
+
+        return new BulkSubmitResult(created == records.size(), records.size(), created, records.size() - created,
+                durationMs, recordsPerSecond, List.of(results));
+    }
+
+    private <E> List<E> persistUnlessCanceled(List<E> entities, Function<List<E>, List<E>> persist,
+                                             SkillContext context) {
+        return transactionTemplate.execute(status -> {
+            List<E> saved = persist.apply(entities);
+            // Inserts are only flushed on commit, so nothing of this chunk reaches the database
+            if (context.isCanceled()) {
+                status.setRollbackOnly();
+            }
+            return saved;
+        });
+    }
+
+    private <E> void persistChunk(List<Integer> indexes, List<E> chunk, IntFunction<E> rebuild,
+                                  Function<List<E>, List<E>> persist, Function<E, Long> idOf,
+                                  BulkSubmitResult.RecordResult[] results) {
+        try {
+            List<E> saved = persist.apply(List.copyOf(chunk));
+            for (int j = 0; j < saved.size(); j++) {
+                results[indexes.get(j)] = BulkSubmitResult.RecordResult.created(indexes.get(j), idOf.apply(saved.get(j)));
+            }
+        } catch (RuntimeException chunkFailure) {
+            logger.warn("Saving a chunk of {} records failed, retrying them one by one", chunk.size(), chunkFailure);
+            // The rolled back entities already carry ids, so each record is saved as a fresh entity
+            for (int index : indexes) {
+                try {
+                    E saved = persist.apply(List.of(rebuild.apply(index))).get(0);
+                    results[index] = BulkSubmitResult.RecordResult.created(index, idOf.apply(saved));
+                } catch (RuntimeException e) {
+                    results[index] = BulkSubmitResult.RecordResult.failed(index, e.getMessage());
+                }
+            }
+        }
+    }
+}
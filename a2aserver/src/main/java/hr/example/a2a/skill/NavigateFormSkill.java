@@ -0,0 +1,65 @@
+package hr.example.a2a.skill;
+
+import hr.example.assistant.FormInfo;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@Order(10)
+public class NavigateFormSkill implements SkillHandler<NavigateFormSkill.Input, NavigateFormSkill.Output> {
+
+    public record Input(
+            @SkillParam(required = true, allowedValues = {"contact", "employee", "support"}) String formId
+    ) {}
+
+    public record Output(
+            boolean success,
+            String formId,
+            String route,
+            String message
+    ) {}
+
+    @Override
+    public String id() {
+        return "navigate-form";
+    }
+
+    @Override
+    public String name() {
+        return "Navigate to Form";
+    }
+
+    @Override
+    public String description() {
+        return "Navigate to a specific form in the application";
+    }
+
+    @Override
+    public List<String> tags() {
+        return List.of("navigation", "forms");
+    }
+
+    @Override
+    public Class<Input> inputType() {
+        return Input.class;
+    }
+
+    @Override
+    public Class<Output> outputType() {
+        return Output.class;
+    }
+
+    @Override
+    public Output execute(Input input, SkillContext context) {
+        String formId = SkillHandler.required(input.formId(), "formId");
+        FormInfo form = FormInfo.getFormById(formId);
+        if (form == null) {
+            throw new IllegalArgumentException("Unknown form: " + formId);
+        }
+
+        String route = "/" + form.route();
+        return new Output(true, formId, route, "Navigation to " + formId + " form ready. Route: " + route);
+    }
+}
@@ -0,0 +1,39 @@
+package hr.example.a2a.skill;
+
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Per-task context handed to a {@link SkillHandler}.
+ *
+ * @param taskId        the task being executed
+ * @param partialOutput receives partial agent text while the skill runs, or null if nobody is streaming the task
+ * @param canceled      reports whether the task has been canceled
+ */
+public record SkillContext(
+        String taskId,
+        Consumer<String> partialOutput,
+        BooleanSupplier canceled
+) {
+    public boolean isStreaming() {
+        return partialOutput != null;
+    }
+
+    /**
+     * Whether the task was canceled. The executing thread is also interrupted on cancellation,
+     * so blocking calls usually end early; long-running skills should check this between steps.
+     */
+    public boolean isCanceled() {
+        return canceled != null && canceled.getAsBoolean();
+    }
+
+    /**
+     * @throws CancellationException if the task was canceled
+     */
+    public void throwIfCanceled() {
+        if (isCanceled()) {
+            throw new CancellationException("Task " + taskId + " was canceled");
+        }
+    }
+}
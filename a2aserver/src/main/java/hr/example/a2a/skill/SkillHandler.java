@@ -0,0 +1,61 @@
+package hr.example.a2a.skill;
+
+import java.util.List;
+
+/**
+ * A skill this agent offers over A2A.
+ *
+ * Implementations are discovered as Spring beans by the {@link SkillRegistry}; their order on the
+ * agent card follows {@link org.springframework.core.annotation.Order}. The input of a task is bound
+ * by Jackson straight from {@code params.input} to {@link #inputType()}, and both input and output
+ * records are described on the agent card by schemas generated from their components.
+ *
+ * @param <I> input record type
+ * @param <O> output record type
+ */
+public interface SkillHandler<I, O> {
+
+    String id();
+
+    String name();
+
+    String description();
+
+    List<String> tags();
+
+    Class<I> inputType();
+
+    Class<O> outputType();
+
+    /**
+     * Execute the skill. Invalid input is reported by throwing {@link IllegalArgumentException}.
+     */
+    O execute(I input, SkillContext context);
+
+    /**
+     * Whether {@link #execute} runs in one transaction that is rolled back if the task is canceled
+     * before the skill returns. Only suitable for short skills, as the transaction holds a database
+     * connection for the whole execution.
+     */
+    default boolean transactional() {
+        return false;
+    }
+
+    /**
+     * Whether the skill calls the language model. Such skills are slow and cost money per call,
+     * so they are rate limited with a separate, smaller budget.
+     */
+    default boolean usesModel() {
+        return false;
+    }
+
+    /**
+     * Return {@code value} if it is not blank, otherwise fail with "{@code field} is required".
+     */
+    static String required(String value, String field) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(field + " is required");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,28 @@
+package hr.example.a2a.skill;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Schema details for a component of a skill input or output record, used when generating the agent card.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.RECORD_COMPONENT)
+public @interface SkillParam {
+
+    boolean required() default false;
+
+    /**
+     * JSON schema format, e.g. "email".
+     */
+    String format() default "";
+
+    String description() default "";
+
+    /**
+     * Allowed values for a string parameter.
+     */
+    String[] allowedValues() default {};
+}
@@ -0,0 +1,64 @@
+package hr.example.a2a.skill;
+
+import hr.example.a2a.model.AgentCard;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable lookup table of all {@link SkillHandler} beans, built once at startup.
+ * Also provides the skill section of the agent card, generated from the same handlers.
+ */
+@Component
+public class SkillRegistry {
+
+    private final Map<String, SkillHandler<?, ?>> handlers;
+    private final List<AgentCard.AgentSkill> agentSkills;
+
+    public SkillRegistry(List<SkillHandler<?, ?>> handlers) {
+        Map<String, SkillHandler<?, ?>> byId = new HashMap<>();
+        for (SkillHandler<?, ?> handler : handlers) {
+            SkillHandler<?, ?> previous = byId.putIfAbsent(handler.id(), handler);
+            if (previous != null) {
+                throw new IllegalStateException("Skill '" + handler.id() + "' is provided by both "
+                        + previous.getClass().getName() + " and " + handler.getClass().getName());
+            }
+        }
+        this.handlers = Map.copyOf(byId);
+
+        this.agentSkills = handlers.stream()
+                .map(handler -> new AgentCard.AgentSkill(
+                        handler.id(),
+                        handler.name(),
+                        handler.description(),
+                        List.copyOf(handler.tags()),
+                        SkillSchemas.forRecord(handler.inputType()),
+                        SkillSchemas.forRecord(handler.outputType())
+                ))
+                .toList();
+    }
+
+    /**
+     * Get the handler for a skill, or null if there is no such skill.
+     */
+    public SkillHandler<?, ?> find(String skillId) {
+        return skillId != null ? handlers.get(skillId) : null;
+    }
+
+    /**
+     * All handlers, in no particular order.
+     */
+    public Collection<SkillHandler<?, ?>> handlers() {
+        return handlers.values();
+    }
+
+    /**
+     * Skills in agent card order.
+     */
+    public List<AgentCard.AgentSkill> agentSkills() {
+        return agentSkills;
+    }
+}
@@ -0,0 +1,96 @@
+package hr.example.a2a.skill;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.RecordComponent;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generates JSON schemas for skill input and output records.
+ */
+final class SkillSchemas {
+
+    private SkillSchemas() {
+    }
+
+    static Map<String, Object> forRecord(Class<?> recordType) {
+        if (!recordType.isRecord()) {
+            throw new IllegalArgumentException(recordType.getName() + " is not a record");
+        }
+
+        Map<String, Object> properties = new LinkedHashMap<>();
+        List<String> required = new ArrayList<>();
+
+        for (RecordComponent component : recordType.getRecordComponents()) {
+            Map<String, Object> property = new LinkedHashMap<>(forType(component.getType()));
+            if (component.getGenericType() instanceof ParameterizedType generic
+                    && Collection.class.isAssignableFrom(component.getType())
+                    && generic.getActualTypeArguments()[0] instanceof Class<?> elementType) {
+                property.put("items", forType(elementType));
+            }
+
+            SkillParam param = component.getAnnotation(SkillParam.class);
+            if (param != null) {
+                if (!param.format().isEmpty()) {
+                    property.put("format", param.format());
+                }
+                if (param.allowedValues().length > 0) {
+                    property.put("enum", List.of(param.allowedValues()));
+                }
+                if (!param.description().isEmpty()) {
+                    property.put("description", param.description());
+                }
+                if (param.required()) {
+                    required.add(component.getName());
+                }
+            }
+            properties.put(component.getName(), Map.copyOf(property));
+        }
+
+        Map<String, Object> schema = new LinkedHashMap<>();
+        schema.put("type", "object");
+        schema.put("properties", properties);
+        if (!required.isEmpty()) {
+            schema.put("required", List.copyOf(required));
+        }
+        return schema;
+    }
+
+    private static Map<String, Object> forType(Class<?> type) {
+        if (type == String.class) {
+            return Map.of("type", "string");
+        }
+        if (type == LocalDate.class) {
+            return Map.of("type", "string", "format", "date");
+        }
+        if (type == Instant.class) {
+            return Map.of("type", "string", "format", "date-time");
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return Map.of("type", "boolean");
+        }
+        if (type == int.class || type == Integer.class || type == long.class || type == Long.class) {
+            return Map.of("type", "integer");
+        }
+        if (type == double.class || type == Double.class || type == float.class || type == Float.class
+                || Number.class.isAssignableFrom(type)) {
+            return Map.of("type", "number");
+        }
+        if (type.isEnum()) {
+            return Map.of("type", "string", "enum", Arrays.stream(type.getEnumConstants()).map(Object::toString).toList());
+        }
+        if (type.isRecord()) {
+            return forRecord(type);
+        }
+        if (Collection.class.isAssignableFrom(type) || type.isArray()) {
+            return Map.of("type", "array");
+        }
+        return Map.of("type", "object");
+    }
+}
@@ -0,0 +1,81 @@
+package hr.example.a2a.skill;
+
+import hr.example.contact.Contact;
+import hr.example.contact.ContactService;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@Order(20)
+public class SubmitContactSkill implements SkillHandler<SubmitContactSkill.Input, SubmitContactSkill.Output> {
+
+    public record Input(
+            @SkillParam(required = true) String firstName,
+            @SkillParam(required = true) String lastName,
+            @SkillParam(required = true, format = "email") String email,
+            String phone,
+            String company,
+            String message
+    ) {}
+
+    public record Output(
+            boolean success,
+            Long contactId,
+            String message
+    ) {}
+
+    private final ContactService contactService;
+
+    public SubmitContactSkill(ContactService contactService) {
+        this.contactService = contactService;
+    }
+
+    @Override
+    public String id() {
+        return "submit-contact";
+    }
+
+    @Override
+    public String name() {
+        return "Submit Contact Form";
+    }
+
+    @Override
+    public String description() {
+        return "Submit a contact form with the provided data";
+    }
+
+    @Override
+    public List<String> tags() {
+        return List.of("forms", "contact", "submission");
+    }
+
+    @Override
+    public Class<Input> inputType() {
+        return Input.class;
+    }
+
+    @Override
+    public Class<Output> outputType() {
+        return Output.class;
+    }
+
+    @Override
+    public boolean transactional() {
+        return true;
+    }
+
+    @Override
+    public Output execute(Input input, SkillContext context) {
+        String firstName = SkillHandler.required(input.firstName(), "firstName");
+        String lastName = SkillHandler.required(input.lastName(), "lastName");
+        String email = SkillHandler.required(input.email(), "email");
+
+        Contact contact = contactService.createContact(firstName, lastName, email,
+                input.phone(), input.company(), input.message());
+
+        return new Output(true, contact.getId(), "Contact form submitted successfully for " + firstName + " " + lastName);
+    }
+}
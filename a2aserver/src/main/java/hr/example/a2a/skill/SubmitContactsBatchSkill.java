@@ -0,0 +1,71 @@
+package hr.example.a2a.skill;
+
+import hr.example.contact.Contact;
+import hr.example.contact.ContactService;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@Order(25)
+public class SubmitContactsBatchSkill implements SkillHandler<SubmitContactsBatchSkill.Input, BulkSubmitResult> {
+
+    public record Input(
+            @SkillParam(required = true, description = "Contact forms, each with the input of submit-contact") List<SubmitContactSkill.Input> records
+    ) {}
+
+    private final ContactService contactService;
+    private final BulkSubmitter bulkSubmitter;
+
+    public SubmitContactsBatchSkill(ContactService contactService, BulkSubmitter bulkSubmitter) {
+        this.contactService = contactService;
+        this.bulkSubmitter = bulkSubmitter;
+    }
+
+    @Override
+    public String id() {
+        return "submit-contacts-batch";
+    }
+
+    @Override
+    public String name() {
+        return "Submit Contact Forms in Bulk";
+    }
+
+    @Override
+    public String description() {
+        return "Submit many contact forms in one task and report the outcome of each";
+    }
+
+    @Override
+    public List<String> tags() {
+        return List.of("forms", "contact", "submission", "bulk");
+    }
+
+    @Override
+    public Class<Input> inputType() {
+        return Input.class;
+    }
+
+    @Override
+    public Class<BulkSubmitResult> outputType() {
+        return BulkSubmitResult.class;
+    }
+
+    @Override
+    public BulkSubmitResult execute(Input input, SkillContext context) {
+        return bulkSubmitter.submit(input.records(), SubmitContactsBatchSkill::toContact, contactService::createContacts, Contact::getId, context);
+    }
+
+    private static Contact toContact(SubmitContactSkill.Input record) {
+        Contact contact = new Contact(
+                SkillHandler.required(record.firstName(), "firstName"),
+                SkillHandler.required(record.lastName(), "lastName"),
+                SkillHandler.required(record.email(), "email"));
+        contact.setPhone(record.phone());
+        contact.setCompany(record.company());
+        contact.setMessage(record.message());
+        return contact;
+    }
+}
@@ -0,0 +1,83 @@
+package hr.example.a2a.skill;
+
+import hr.example.employee.Employee;
+import hr.example.employee.EmployeeService;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Component
+@Order(30)
+public class SubmitEmployeeSkill implements SkillHandler<SubmitEmployeeSkill.Input, SubmitEmployeeSkill.Output> {
+
+    public record Input(
+            @SkillParam(required = true) String firstName,
+            @SkillParam(required = true) String lastName,
+            @SkillParam(required = true, format = "email") String email,
+            @SkillParam(allowedValues = {"Engineering", "Sales", "Marketing", "HR", "Finance", "Operations"}) String department,
+            String position,
+            LocalDate hireDate,
+            Double salary
+    ) {}
+
+    public record Output(
+            boolean success,
+            Long employeeId,
+            String message
+    ) {}
+
+    private final EmployeeService employeeService;
+
+    public SubmitEmployeeSkill(EmployeeService employeeService) {
+        this.employeeService = employeeService;
+    }
+
+    @Override
+    public String id() {
+        return "submit-employee";
+    }
+
+    @Override
+    public String name() {
+        return "Submit Employee Registration";
+    }
+
+    @Override
+    public String description() {
+        return "Register a new employee with the provided data";
+    }
+
+    @Override
+    public List<String> tags() {
+        return List.of("forms", "employee", "registration");
+    }
+
+    @Override
+    public Class<Input> inputType() {
+        return Input.class;
+    }
+
+    @Override
+    public Class<Output> outputType() {
+        return Output.class;
+    }
+
+    @Override
+    public boolean transactional() {
+        return true;
+    }
+
+    @Override
+    public Output execute(Input input, SkillContext context) {
+        String firstName = SkillHandler.required(input.firstName(), "firstName");
+        String lastName = SkillHandler.required(input.lastName(), "lastName");
+        String email = SkillHandler.required(input.email(), "email");
+
+        Employee employee = employeeService.createEmployee(firstName, lastName, email,
+                input.department(), input.position(), input.hireDate(), input.salary());
+
+        return new Output(true, employee.getId(), "Employee " + firstName + " " + lastName + " registered successfully");
+    }
+}
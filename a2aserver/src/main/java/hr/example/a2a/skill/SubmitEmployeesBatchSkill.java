@@ -0,0 +1,72 @@
+package hr.example.a2a.skill;
+
+import hr.example.employee.Employee;
+import hr.example.employee.EmployeeService;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@Order(35)
+public class SubmitEmployeesBatchSkill implements SkillHandler<SubmitEmployeesBatchSkill.Input, BulkSubmitResult> {
+
+    public record Input(
+            @SkillParam(required = true, description = "Employees, each with the input of submit-employee") List<SubmitEmployeeSkill.Input> records
+    ) {}
+
+    private final EmployeeService employeeService;
+    private final BulkSubmitter bulkSubmitter;
+
+    public SubmitEmployeesBatchSkill(EmployeeService employeeService, BulkSubmitter bulkSubmitter) {
+        this.employeeService = employeeService;
+        this.bulkSubmitter = bulkSubmitter;
+    }
+
+    @Override
+    public String id() {
+        return "submit-employees-batch";
+    }
+
+    @Override
+    public String name() {
+        return "Submit Employee Registrations in Bulk";
+    }
+
+    @Override
+    public String description() {
+        return "Register many employees in one task and report the outcome of each";
+    }
+
+    @Override
+    public List<String> tags() {
+        return List.of("forms", "employee", "registration", "bulk");
+    }
+
+    @Override
+    public Class<Input> inputType() {
+        return Input.class;
+    }
+
+    @Override
+    public Class<BulkSubmitResult> outputType() {
+        return BulkSubmitResult.class;
+    }
+
+    @Override
+    public BulkSubmitResult execute(Input input, SkillContext context) {
+        return bulkSubmitter.submit(input.records(), SubmitEmployeesBatchSkill::toEmployee, employeeService::createEmployees, Employee::getId, context);
+    }
+
+    private static Employee toEmployee(SubmitEmployeeSkill.Input record) {
+        Employee employee = new Employee(
+                SkillHandler.required(record.firstName(), "firstName"),
+                SkillHandler.required(record.lastName(), "lastName"),
+                SkillHandler.required(record.email(), "email"));
+        employee.setDepartment(record.department());
+        employee.setPosition(record.position());
+        employee.setHireDate(record.hireDate());
+        employee.setSalary(record.salary());
+        return employee;
+    }
+}
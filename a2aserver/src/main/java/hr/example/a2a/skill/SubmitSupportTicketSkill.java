@@ -0,0 +1,83 @@
+package hr.example.a2a.skill;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import hr.example.support.SupportTicket;
+import hr.example.support.SupportTicketService;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@Order(40)
+public class SubmitSupportTicketSkill implements SkillHandler<SubmitSupportTicketSkill.Input, SubmitSupportTicketSkill.Output> {
+
+    public record Input(
+            @SkillParam(required = true) String subject,
+            @SkillParam(required = true) String description,
+            @SkillParam(required = true) String reporterName,
+            @SkillParam(required = true, format = "email") String reporterEmail,
+            @JsonFormat(with = JsonFormat.Feature.ACCEPT_CASE_INSENSITIVE_VALUES) SupportTicket.Priority priority,
+            @JsonFormat(with = JsonFormat.Feature.ACCEPT_CASE_INSENSITIVE_VALUES) SupportTicket.Category category
+    ) {}
+
+    public record Output(
+            boolean success,
+            Long ticketId,
+            String message
+    ) {}
+
+    private final SupportTicketService supportTicketService;
+
+    public SubmitSupportTicketSkill(SupportTicketService supportTicketService) {
+        this.supportTicketService = supportTicketService;
+    }
+
+    @Override
+    public String id() {
+        return "submit-support-ticket";
+    }
+
+    @Override
+    public String name() {
+        return "Submit Support Ticket";
+    }
+
+    @Override
+    public String description() {
+        return "Create a new support ticket";
+    }
+
+    @Override
+    public List<String> tags() {
+        return List.of("forms", "support", "ticket");
+    }
+
+    @Override
+    public Class<Input> inputType() {
+        return Input.class;
+    }
+
+    @Override
+    public Class<Output> outputType() {
+        return Output.class;
+    }
+
+    @Override
+    public boolean transactional() {
+        return true;
+    }
+
+    @Override
+    public Output execute(Input input, SkillContext context) {
+        String subject = SkillHandler.required(input.subject(), "subject");
+        String description = SkillHandler.required(input.description(), "description");
+        String reporterName = SkillHandler.required(input.reporterName(), "reporterName");
+        String reporterEmail = SkillHandler.required(input.reporterEmail(), "reporterEmail");
+
+        SupportTicket ticket = supportTicketService.createTicket(subject, description, reporterName, reporterEmail,
+                input.priority(), input.category());
+
+        return new Output(true, ticket.getId(), "Support ticket created: " + subject);
+    }
+}
@@ -0,0 +1,71 @@
+package hr.example.a2a.skill;
+
+import hr.example.support.SupportTicket;
+import hr.example.support.SupportTicketService;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@Order(45)
+public class SubmitSupportTicketsBatchSkill implements SkillHandler<SubmitSupportTicketsBatchSkill.Input, BulkSubmitResult> {
+
+    public record Input(
+            @SkillParam(required = true, description = "Support tickets, each with the input of submit-support-ticket") List<SubmitSupportTicketSkill.Input> records
+    ) {}
+
+    private final SupportTicketService supportTicketService;
+    private final BulkSubmitter bulkSubmitter;
+
+    public SubmitSupportTicketsBatchSkill(SupportTicketService supportTicketService, BulkSubmitter bulkSubmitter) {
+        this.supportTicketService = supportTicketService;
+        this.bulkSubmitter = bulkSubmitter;
+    }
+
+    @Override
+    public String id() {
+        return "submit-support-tickets-batch";
+    }
+
+    @Override
+    public String name() {
+        return "Submit Support Tickets in Bulk";
+    }
+
+    @Override
+    public String description() {
+        return "Create many support tickets in one task and report the outcome of each";
+    }
+
+    @Override
+    public List<String> tags() {
+        return List.of("forms", "support", "ticket", "bulk");
+    }
+
+    @Override
+    public Class<Input> inputType() {
+        return Input.class;
+    }
+
+    @Override
+    public Class<BulkSubmitResult> outputType() {
+        return BulkSubmitResult.class;
+    }
+
+    @Override
+    public BulkSubmitResult execute(Input input, SkillContext context) {
+        return bulkSubmitter.submit(input.records(), SubmitSupportTicketsBatchSkill::toTicket, supportTicketService::createTickets, SupportTicket::getId, context);
+    }
+
+    private static SupportTicket toTicket(SubmitSupportTicketSkill.Input record) {
+        SupportTicket ticket = new SupportTicket(
+                SkillHandler.required(record.subject(), "subject"),
+                SkillHandler.required(record.description(), "description"),
+                SkillHandler.required(record.reporterName(), "reporterName"),
+                SkillHandler.required(record.reporterEmail(), "reporterEmail"));
+        ticket.setPriority(record.priority());
+        ticket.setCategory(record.category());
+        return ticket;
+    }
+}
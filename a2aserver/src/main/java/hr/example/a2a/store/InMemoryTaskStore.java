@@ -0,0 +1,103 @@
+package hr.example.a2a.store;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import hr.example.a2a.model.A2ATask;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Default in-memory task store.
+ *
+ * Tasks that are still queued or running are kept in a plain map and are never evicted; they are
+ * bounded by the task executor's capacity. Once a task reaches a terminal state it moves to a
+ * Caffeine cache that holds at most {@code max-entries} finished tasks (W-TinyLFU eviction)
+ * and drops each one {@code ttl} after it finished.
+ */
+@Component
+@ConditionalOnProperty(name = "a2a.tasks.store.type", havingValue = "memory", matchIfMissing = true)
+public class InMemoryTaskStore implements TaskStore {
+
+    private final Map<String, A2ATask> active = new ConcurrentHashMap<>();
+    private final Cache<String, A2ATask> finished;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public InMemoryTaskStore(@Value("${a2a.tasks.store.max-entries:10000}") long maxEntries,
+                             @Value("${a2a.tasks.store.ttl:1h}") Duration ttl) {
+        this.finished = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .removalListener((String id, A2ATask task, RemovalCause cause) -> {
+                    if (cause.wasEvicted()) {
+                        evictions.increment();
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public void save(A2ATask task) {
+        // The status is read inside compute, which runs one save of a task at a time, so a save that
+        // read WORKING cannot put back a task that a concurrent save has just moved to finished
+        active.compute(task.getId(), (id, current) -> {
+            if (task.getStatus().isTerminal()) {
+                finished.put(id, task);
+                return null;
+            }
+            return task;
+        });
+    }
+
+    @Override
+    public A2ATask get(String taskId) {
+        A2ATask task = active.get(taskId);
+        if (task == null) {
+            task = finished.getIfPresent(taskId);
+        }
+
+        if (task != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return task;
+    }
+
+    @Override
+    public void remove(String taskId) {
+        active.remove(taskId);
+        finished.invalidate(taskId);
+    }
+
+    @Override
+    public long size() {
+        return active.size() + finished.estimatedSize();
+    }
+
+    @Override
+    public Stats stats() {
+        return new Stats(size(), hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    /**
+     * Weakly consistent view of all tasks currently held, used for snapshots.
+     */
+    Collection<A2ATask> tasks() {
+        List<A2ATask> all = new ArrayList<>(active.values());
+        all.addAll(finished.asMap().values());
+        return all;
+    }
+}
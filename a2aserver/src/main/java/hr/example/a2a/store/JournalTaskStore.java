@@ -0,0 +1,387 @@
+package hr.example.a2a.store;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hr.example.a2a.model.A2ATask;
+import hr.example.a2a.model.PushNotificationConfig;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Durable task store that serves reads from an {@link InMemoryTaskStore} and records every change
+ * in an append-only journal on local disk.
+ *
+ * Writes are group-committed: a single writer thread drains all pending changes, appends them and
+ * issues one fsync for the whole batch, so concurrent callers share the cost of the sync. Every
+ * {@code snapshot-interval} the writer stores all live tasks in a snapshot file and truncates the
+ * journal. On startup the snapshot is loaded and the journal replayed on top of it; tasks that were
+ * still queued or running are marked FAILED, or with {@code recovery=requeue} handed back for execution.
+ */
+@Component
+@ConditionalOnProperty(name = "a2a.tasks.store.type", havingValue = "journal")
+public class JournalTaskStore implements TaskStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(JournalTaskStore.class);
+
+    private static final String JOURNAL_FILE = "tasks.journal";
+    private static final String SNAPSHOT_FILE = "tasks.snapshot";
+    private static final int MAX_BATCH_SIZE = 1024;
+    private static final long POLL_INTERVAL_MS = 200;
+
+    public enum Recovery {
+        FAIL, REQUEUE
+    }
+
+    private final InMemoryTaskStore index;
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final Duration ttl;
+    private final Duration snapshotInterval;
+    private final boolean sync;
+
+    private final BlockingQueue<PendingWrite> pending = new LinkedBlockingQueue<>();
+    private final List<A2ATask> interrupted = new ArrayList<>();
+    private final FileChannel journal;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    // Only touched by the writer thread once it has started
+    private long lastSnapshotNanos;
+    private long entriesSinceSnapshot;
+
+    public JournalTaskStore(ObjectMapper objectMapper,
+                            @Value("${a2a.tasks.store.journal.dir:./data/tasks}") Path directory,
+                            @Value("${a2a.tasks.store.max-entries:10000}") long maxEntries,
+                            @Value("${a2a.tasks.store.ttl:1h}") Duration ttl,
+                            @Value("${a2a.tasks.store.journal.snapshot-interval:5m}") Duration snapshotInterval,
+                            @Value("${a2a.tasks.store.journal.sync:true}") boolean sync,
+                            @Value("${a2a.tasks.store.journal.recovery:fail}") Recovery recovery) throws IOException {
+        this.index = new InMemoryTaskStore(maxEntries, ttl);
+        this.objectMapper = objectMapper;
+        this.directory = directory;
+        this.ttl = ttl;
+        this.snapshotInterval = snapshotInterval;
+        this.sync = sync;
+
+        Files.createDirectories(directory);
+        recover(recovery);
+
+        this.journal = FileChannel.open(directory.resolve(JOURNAL_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        // Compact whatever was recovered (including tasks marked FAILED above) into a fresh snapshot
+        writeSnapshot();
+
+        this.writer = Thread.ofPlatform().name("a2a-task-journal").daemon(true).start(this::writeLoop);
+    }
+
+    @Override
+    public void save(A2ATask task) {
+        PendingWrite write;
+        // One save of a task at a time, so its entries are queued in the order of the states they hold
+        // and replay cannot end on an older state, e.g. WORKING after a concurrent cancel
+        synchronized (task) {
+            index.save(task);
+            write = enqueue(JournalEntry.put(TaskRecord.from(task)));
+        }
+        await(write, task.getId());
+    }
+
+    @Override
+    public A2ATask get(String taskId) {
+        return index.get(taskId);
+    }
+
+    @Override
+    public void remove(String taskId) {
+        index.remove(taskId);
+        await(enqueue(JournalEntry.remove(taskId)), taskId);
+    }
+
+    @Override
+    public long size() {
+        return index.size();
+    }
+
+    @Override
+    public Stats stats() {
+        return index.stats();
+    }
+
+    @Override
+    public synchronized List<A2ATask> takeInterruptedTasks() {
+        List<A2ATask> tasks = List.copyOf(interrupted);
+        interrupted.clear();
+        return tasks;
+    }
+
+    /**
+     * Queue an entry for the writer, or return null if the journal is closed.
+     */
+    private PendingWrite enqueue(JournalEntry entry) {
+        if (!running) {
+            logger.warn("Task journal is closed, change to task {} is not persisted", entry.taskId());
+            return null;
+        }
+
+        PendingWrite write;
+        try {
+            write = new PendingWrite(toLine(entry), new CompletableFuture<>());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize task " + entry.taskId(), e);
+        }
+        pending.add(write);
+        return write;
+    }
+
+    /**
+     * With {@code sync}, wait until the write is on disk.
+     */
+    private void await(PendingWrite write, String taskId) {
+        if (sync && write != null) {
+            try {
+                write.done().join();
+            } catch (CompletionException e) {
+                throw new UncheckedIOException("Failed to persist task " + taskId,
+                        e.getCause() instanceof IOException io ? io : new IOException(e.getCause()));
+            }
+        }
+    }
+
+    private void writeLoop() {
+        lastSnapshotNanos = System.nanoTime();
+        List<PendingWrite> batch = new ArrayList<>(MAX_BATCH_SIZE);
+
+        while (running || !pending.isEmpty()) {
+            try {
+                PendingWrite first = pending.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    pending.drainTo(batch, MAX_BATCH_SIZE - 1);
+                    writeBatch(batch);
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            if (entriesSinceSnapshot > 0 && System.nanoTime() - lastSnapshotNanos >= snapshotInterval.toNanos()) {
+                try {
+                    writeSnapshot();
+                } catch (IOException e) {
+                    logger.error("Failed to write task snapshot, journal keeps growing", e);
+                }
+            }
+        }
+
+        try {
+            writeSnapshot();
+        } catch (IOException e) {
+            logger.error("Failed to write final task snapshot", e);
+        }
+    }
+
+    /**
+     * Append a batch and make it durable with a single fsync.
+     */
+    private void writeBatch(List<PendingWrite> batch) {
+        int length = 0;
+        for (PendingWrite write : batch) {
+            length += write.line().length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        for (PendingWrite write : batch) {
+            buffer.put(write.line());
+        }
+        buffer.flip();
+
+        try {
+            while (buffer.hasRemaining()) {
+                journal.write(buffer);
+            }
+            journal.force(false);
+            entriesSinceSnapshot += batch.size();
+            batch.forEach(write -> write.done().complete(null));
+        } catch (IOException e) {
+            logger.error("Failed to append {} entries to the task journal", batch.size(), e);
+            batch.forEach(write -> write.done().completeExceptionally(e));
+        }
+    }
+
+    /**
+     * Write all live tasks to a new snapshot, atomically replace the old one and truncate the journal.
+     * Every change already in the journal is reflected in the index, so nothing is lost by truncating.
+     */
+    private void writeSnapshot() throws IOException {
+        Path tmp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel));
+            for (A2ATask task : index.tasks()) {
+                out.write(toLine(TaskRecord.from(task)));
+            }
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(tmp, directory.resolve(SNAPSHOT_FILE),
+                StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        journal.truncate(0);
+        journal.position(0);
+        journal.force(true);
+
+        lastSnapshotNanos = System.nanoTime();
+        entriesSinceSnapshot = 0;
+    }
+
+    private void recover(Recovery recovery) throws IOException {
+        Map<String, A2ATask> tasks = new LinkedHashMap<>();
+
+        Path snapshot = directory.resolve(SNAPSHOT_FILE);
+        if (Files.exists(snapshot)) {
+            try (BufferedReader reader = Files.newBufferedReader(snapshot)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    A2ATask task = objectMapper.readValue(line, TaskRecord.class).toTask();
+                    tasks.put(task.getId(), task);
+                }
+            }
+        }
+
+        Path journalFile = directory.resolve(JOURNAL_FILE);
+        if (Files.exists(journalFile)) {
+            try (BufferedReader reader = Files.newBufferedReader(journalFile)) {
+                String line;
+                int lineNumber = 0;
+                while ((line = reader.readLine()) != null) {
+                    lineNumber++;
+                    try {
+                        JournalEntry entry = objectMapper.readValue(line, JournalEntry.class);
+                        if (entry.task() != null) {
+                            tasks.put(entry.taskId(), entry.task().toTask());
+                        } else {
+                            tasks.remove(entry.taskId());
+                        }
+                    } catch (JsonProcessingException e) {
+                        // A torn write at the tail after a crash; the entry was never acknowledged
+                        logger.warn("Skipping unreadable task journal entry at line {}", lineNumber);
+                    }
+                }
+            }
+        }
+
+        Instant expiredBefore = Instant.now().minus(ttl);
+        int restored = 0;
+        for (A2ATask task : tasks.values()) {
+            if (task.getStatus().isTerminal()) {
+                if (task.getUpdatedAt().isBefore(expiredBefore)) {
+                    continue;
+                }
+            } else if (recovery == Recovery.REQUEUE && task.getSkillId() != null) {
+                task.requeue();
+                interrupted.add(task);
+            } else {
+                task.finish(A2ATask.Status.FAILED,
+                        A2ATask.A2AMessage.agentMessage("Error: Task was interrupted by a server restart"), null);
+            }
+            index.save(task);
+            restored++;
+        }
+
+        logger.info("Restored {} tasks from {} ({} interrupted tasks to re-queue)", restored, directory, interrupted.size());
+    }
+
+    private byte[] toLine(Object value) throws JsonProcessingException {
+        byte[] json = objectMapper.writeValueAsBytes(value);
+        byte[] line = new byte[json.length + 1];
+        System.arraycopy(json, 0, line, 0, json.length);
+        line[json.length] = '\n';
+        return line;
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        journal.close();
+    }
+
+    private record PendingWrite(byte[] line, CompletableFuture<Void> done) {}
+
+    /**
+     * One journal line: the new state of a task, or a removal when {@code task} is null.
+     */
+    record JournalEntry(String taskId, TaskRecord task) {
+        static JournalEntry put(TaskRecord task) {
+            return new JournalEntry(task.id(), task);
+        }
+
+        static JournalEntry remove(String taskId) {
+            return new JournalEntry(taskId, null);
+        }
+    }
+
+    /**
+     * Serialized form of an {@link A2ATask}.
+     */
+    record TaskRecord(
+            String id,
+            String sessionId,
+            String skillId,
+            A2ATask.Status status,
+            JsonNode input,
+            A2ATask.A2AMessage result,
+            List<A2ATask.A2AArtifact> artifacts,
+            Instant createdAt,
+            Instant updatedAt,
+            PushNotificationConfig pushNotification,
+            List<A2ATask.Transition> history
+    ) {
+        static TaskRecord from(A2ATask task) {
+            A2ATask.State state = task.snapshot();
+            return new TaskRecord(task.getId(), task.getSessionId(), task.getSkillId(), state.status(),
+                    task.getInput(), state.result(), state.artifacts(), task.getCreatedAt(), state.updatedAt(),
+                    task.getPushNotification(), state.history());
+        }
+
+        A2ATask toTask() {
+            A2ATask task = new A2ATask(id, sessionId, skillId, status, input, result, artifacts, createdAt, updatedAt,
+                    history);
+            task.setPushNotification(pushNotification);
+            return task;
+        }
+    }
+}
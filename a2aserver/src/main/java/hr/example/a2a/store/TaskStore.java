@@ -0,0 +1,49 @@
+package hr.example.a2a.store;
+
+import hr.example.a2a.model.A2ATask;
+
+import java.util.List;
+
+/**
+ * Storage for A2A tasks.
+ *
+ * Implementations may evict finished tasks, so {@link #get(String)} returning null only means
+ * the task is unknown <em>now</em>. Callers must {@link #save(A2ATask)} a task again after every
+ * state change so that the store sees its current status.
+ */
+public interface TaskStore {
+
+    /**
+     * Insert a task or record a change to it.
+     */
+    void save(A2ATask task);
+
+    /**
+     * Get a task by ID, or null if it does not exist (anymore).
+     */
+    A2ATask get(String taskId);
+
+    void remove(String taskId);
+
+    /**
+     * Number of tasks currently held.
+     */
+    long size();
+
+    Stats stats();
+
+    /**
+     * Tasks that were queued or running when the server last stopped and should be executed again.
+     * Each task is returned only once. Only durable stores ever return anything here.
+     */
+    default List<A2ATask> takeInterruptedTasks() {
+        return List.of();
+    }
+
+    record Stats(
+            long size,
+            long hits,
+            long misses,
+            long evictions
+    ) {}
+}
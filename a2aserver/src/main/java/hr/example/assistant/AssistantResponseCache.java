@@ -0,0 +1,197 @@
+package hr.example.assistant;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Cache of model responses to assistant commands.
+ *
+ * Entries are keyed by a hash of the command, the history sent with it and the system prompt version
+ * (see {@link AssistantService}), so a change to the forms, and with it the prompt, makes all older
+ * entries unreachable. Entries expire {@code ttl} after they were created and the least valuable
+ * ones are evicted beyond {@code max-entries}.
+ *
+ * With the disk tier enabled, every new entry is also appended to a file that is read back on
+ * startup, so the cache survives restarts. The file is rewritten from the cache's contents when it
+ * has grown to twice {@code max-entries} lines. Losing the last writes in a crash only costs cache hits.
+ */
+@Component
+public class AssistantResponseCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(AssistantResponseCache.class);
+    private static final String CACHE_FILE = "responses.ndjson";
+
+    private final boolean enabled;
+    private final Duration ttl;
+    private final long maxEntries;
+    private final Cache<String, CachedResponse> cache;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Path file;
+    private BufferedWriter writer;
+    private long linesWritten;
+
+    public AssistantResponseCache(MeterRegistry meterRegistry,
+                                  @Value("${assistant.cache.enabled:true}") boolean enabled,
+                                  @Value("${assistant.cache.ttl:1h}") Duration ttl,
+                                  @Value("${assistant.cache.max-entries:10000}") long maxEntries,
+                                  @Value("${assistant.cache.disk.enabled:false}") boolean diskEnabled,
+                                  @Value("${assistant.cache.disk.dir:./data/assistant-cache}") Path directory) {
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(Expiry.creating((String key, CachedResponse response) -> remaining(response)))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "assistant.responses");
+
+        this.file = enabled && diskEnabled ? directory.resolve(CACHE_FILE) : null;
+        if (file != null) {
+            try {
+                load();
+                compact();
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not open assistant response cache " + file, e);
+            }
+        }
+    }
+
+    /**
+     * The cached response for {@code key}, or null.
+     */
+    public CachedResponse get(String key) {
+        return enabled ? cache.getIfPresent(key) : null;
+    }
+
+    /**
+     * Cache the raw model output {@code text} and the action parsed from it. The action is handed to
+     * every later caller as it is, so it must be an {@link NavigationAction#immutableCopy() immutable copy}.
+     */
+    public void put(String key, String text, NavigationAction action) {
+        if (!enabled) {
+            return;
+        }
+        CachedResponse response = new CachedResponse(text, action, System.currentTimeMillis());
+        cache.put(key, response);
+        if (file != null) {
+            append(key, response);
+        }
+    }
+
+    private Duration remaining(CachedResponse response) {
+        Duration remaining = ttl.minusMillis(System.currentTimeMillis() - response.createdAt());
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    private void load() throws IOException {
+        if (!Files.exists(file)) {
+            return;
+        }
+        int loaded = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                try {
+                    DiskEntry entry = objectMapper.readValue(line, DiskEntry.class);
+                    CachedResponse response = new CachedResponse(entry.text(), entry.action().immutableCopy(), entry.createdAt());
+                    if (!remaining(response).isZero()) {
+                        cache.put(entry.key(), response);
+                        loaded++;
+                    }
+                } catch (JsonProcessingException e) {
+                    // A torn last line after a crash
+                    logger.debug("Skipping unreadable assistant cache entry: {}", e.getMessage());
+                }
+            }
+        }
+        logger.info("Loaded {} assistant responses from {}", loaded, file);
+    }
+
+    private synchronized void append(String key, CachedResponse response) {
+        try {
+            writer.write(objectMapper.writeValueAsString(
+                    new DiskEntry(key, response.text(), response.action(), response.createdAt())));
+            writer.newLine();
+            writer.flush();
+            if (++linesWritten >= 2 * maxEntries) {
+                compact();
+            }
+        } catch (IOException e) {
+            logger.warn("Could not write assistant response cache {}: {}", file, e.toString());
+        }
+    }
+
+    /**
+     * Rewrite the file with the current entries and reopen it for appending.
+     */
+    private synchronized void compact() throws IOException {
+        if (writer != null) {
+            writer.close();
+        }
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path temp = file.resolveSibling(CACHE_FILE + ".tmp");
+        long lines = 0;
+        try (BufferedWriter out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, CachedResponse> entry : cache.asMap().entrySet()) {
+                CachedResponse response = entry.getValue();
+                out.write(objectMapper.writeValueAsString(
+                        new DiskEntry(entry.getKey(), response.text(), response.action(), response.createdAt())));
+                out.newLine();
+                lines++;
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        linesWritten = lines;
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                logger.warn("Could not close assistant response cache {}: {}", file, e.toString());
+            }
+        }
+    }
+
+    /**
+     * A cached response: the raw model output and the action parsed from it.
+     */
+    public record CachedResponse(
+            String text,
+            NavigationAction action,
+            long createdAt
+    ) {}
+
+    private record DiskEntry(
+            String key,
+            String text,
+            NavigationAction action,
+            long createdAt
+    ) {}
+}
@@ -2,6 +2,9 @@ package hr.example.assistant;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.chat.client.ChatClient;
@@ -9,12 +12,25 @@ import org.springframework.ai.chat.messages.AssistantMessage;
 import org.springframework.ai.chat.messages.Message;
 import org.springframework.ai.chat.messages.SystemMessage;
 import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
 import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
 import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
@@ -26,13 +42,44 @@ public class AssistantService {
 
     private static final Logger logger = LoggerFactory.getLogger(AssistantService.class);
     private static final int MAX_HISTORY_SIZE = 20; // Keep last 20 messages for context
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    // Only depend on the form registry, so they are built once
+    private static final String SYSTEM_PROMPT = buildSystemPrompt();
+    private static final String PROMPT_VERSION = sha256(SYSTEM_PROMPT);
+    private static final String FORMS_DESCRIPTION = FormInfo.getAvailableForms().stream()
+            .map(f -> String.format("• %s (%s): %s", f.displayName(), f.route(), f.description()))
+            .collect(Collectors.joining("\n"));
 
     private final ChatClient chatClient;
     private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Counter promptTokens;
+    private final Counter completionTokens;
+    private final Timer firstToken;
+    private final CommandCoalescer coalescer;
+    private final AssistantResponseCache responseCache;
+    private final IntentRouter intentRouter;
 
-    public AssistantService(ChatClient.Builder chatClientBuilder) {
+    public AssistantService(ChatClient.Builder chatClientBuilder, MeterRegistry meterRegistry,
+                            AssistantResponseCache responseCache,
+                            @Value("${assistant.intent-router.enabled:true}") boolean intentRouterEnabled) {
         this.chatClient = chatClientBuilder.build();
         this.objectMapper = new ObjectMapper();
+        this.meterRegistry = meterRegistry;
+        this.promptTokens = Counter.builder("assistant.llm.tokens")
+                .description("Tokens used by model calls")
+                .tag("type", "prompt")
+                .register(meterRegistry);
+        this.completionTokens = Counter.builder("assistant.llm.tokens")
+                .description("Tokens used by model calls")
+                .tag("type", "completion")
+                .register(meterRegistry);
+        this.firstToken = Timer.builder("assistant.llm.first-token")
+                .description("Streamed model calls, until the first token has arrived")
+                .register(meterRegistry);
+        this.coalescer = new CommandCoalescer(meterRegistry);
+        this.responseCache = responseCache;
+        this.intentRouter = new IntentRouter(meterRegistry, intentRouterEnabled, FORMS_DESCRIPTION);
     }
 
     /**
@@ -44,46 +91,247 @@ public class AssistantService {
 
     /**
      * Process a user command with conversation history and return a navigation action.
+     * Simple navigation commands are answered without the model; identical commands processed
+     * at the same time share one model call.
      */
     public NavigationAction processCommand(String userCommand, List<ChatMessage> history) {
+        NavigationAction routed = intentRouter.route(userCommand);
+        if (routed != null) {
+            return routed;
+        }
+        List<ChatMessage> recentHistory = recentHistory(history);
+        String key = commandKey(userCommand, recentHistory);
+        AssistantResponseCache.CachedResponse cached = responseCache.get(key);
+        if (cached != null) {
+            return cached.action();
+        }
+        return coalesced("call:" + key, token -> { }, tokens -> callModel(userCommand, recentHistory, key));
+    }
+
+    /**
+     * Process a user command, handing each chunk of raw model output to {@code onToken}
+     * as soon as it is generated. Blocks until the completion has finished.
+     * Identical commands processed at the same time share one model call and all receive its output.
+     * Commands answered without the model hand over the JSON the model would have answered with.
+     */
+    public NavigationAction processCommand(String userCommand, List<ChatMessage> history, Consumer<String> onToken) {
+        NavigationAction routed = intentRouter.route(userCommand);
+        if (routed != null) {
+            onToken.accept(toJson(routed));
+            return routed;
+        }
+        List<ChatMessage> recentHistory = recentHistory(history);
+        String key = commandKey(userCommand, recentHistory);
+        AssistantResponseCache.CachedResponse cached = responseCache.get(key);
+        if (cached != null) {
+            onToken.accept(cached.text());
+            return cached.action();
+        }
+        return coalesced("stream:" + key, onToken, tokens -> streamModel(userCommand, recentHistory, key, tokens));
+    }
+
+    private NavigationAction coalesced(String flightKey, Consumer<String> onToken,
+                                       Function<Consumer<String>, NavigationAction> call) {
+        try {
+            return coalescer.execute(flightKey, onToken, call);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.info("Command processing was interrupted");
+            return NavigationAction.help("The request was canceled.");
+        } catch (IllegalStateException e) {
+            logger.error("Error processing command", e);
+            return NavigationAction.help("I'm sorry, I encountered an error processing your request. Please try again.");
+        }
+    }
+
+    private String toJson(NavigationAction action) {
+        try {
+            return objectMapper.writeValueAsString(action);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Hash of everything the model sees: the system prompt version, the history and the command.
+     * Whitespace is normalized, but case is not: names and other values are copied from the command
+     * into the form data.
+     */
+    private static String commandKey(String userCommand, List<ChatMessage> history) {
         try {
-            String systemPrompt = buildSystemPrompt();
-            
-            // Build messages list with history
-            List<Message> messages = new ArrayList<>();
-            messages.add(new SystemMessage(systemPrompt));
-            
-            // Add conversation history (limit to recent messages)
-            List<ChatMessage> recentHistory = history.size() > MAX_HISTORY_SIZE 
-                    ? history.subList(history.size() - MAX_HISTORY_SIZE, history.size())
-                    : history;
-            
-            for (ChatMessage msg : recentHistory) {
-                switch (msg.role()) {
-                    case USER -> messages.add(new UserMessage(msg.content()));
-                    case ASSISTANT -> messages.add(new AssistantMessage(msg.content()));
-                    case SYSTEM -> messages.add(new SystemMessage(msg.content()));
-                }
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(PROMPT_VERSION.getBytes(StandardCharsets.UTF_8));
+            for (ChatMessage message : history) {
+                digest.update((byte) 0);
+                digest.update(message.role().name().getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+                digest.update(normalize(message.content()).getBytes(StandardCharsets.UTF_8));
             }
-            
-            // Add current user message
-            messages.add(new UserMessage(userCommand));
-            
-            // Create prompt with all messages
-            Prompt prompt = new Prompt(messages);
-            String response = chatClient.prompt(prompt)
+            digest.update((byte) 0);
+            digest.update(normalize(userCommand).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String sha256(String text) {
+        try {
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return WHITESPACE.matcher(Normalizer.normalize(text, Normalizer.Form.NFC).strip()).replaceAll(" ");
+    }
+
+    private NavigationAction callModel(String userCommand, List<ChatMessage> history, String key) {
+        long start = System.nanoTime();
+        try {
+            Prompt prompt = buildPrompt(userCommand, history);
+            ChatResponse chatResponse = chatClient.prompt(prompt)
                     .call()
-                    .content();
+                    .chatResponse();
+            String response = chatResponse != null && chatResponse.getResult() != null
+                    ? chatResponse.getResult().getOutput().getText()
+                    : null;
+            recordCall("call", "success", start, chatResponse);
 
             logger.info("AI Response: {}", response);
-            return parseResponse(response);
+            return parseAndCache(key, response != null ? response : "");
         } catch (Exception e) {
+            recordCall("call", "error", start, null);
             logger.error("Error processing command", e);
             return NavigationAction.help("I'm sorry, I encountered an error processing your request. Please try again.");
         }
     }
 
-    private String buildSystemPrompt() {
+    private NavigationAction streamModel(String userCommand, List<ChatMessage> history, String key,
+                                         Consumer<String> onToken) {
+        long start = System.nanoTime();
+        try {
+            Prompt prompt = buildPrompt(userCommand, history);
+            StringBuilder response = new StringBuilder();
+            // Token usage only comes with one of the chunks, normally the last
+            AtomicReference<ChatResponse> withUsage = new AtomicReference<>();
+            chatClient.prompt(prompt)
+                    .stream()
+                    .chatResponse()
+                    .doOnNext(chunk -> {
+                        if (hasUsage(chunk)) {
+                            withUsage.set(chunk);
+                        }
+                        String token = chunk.getResult() != null ? chunk.getResult().getOutput().getText() : null;
+                        if (token != null && !token.isEmpty()) {
+                            if (response.isEmpty()) {
+                                firstToken.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                            }
+                            response.append(token);
+                            onToken.accept(token);
+                        }
+                    })
+                    .blockLast();
+            recordCall("stream", "success", start, withUsage.get());
+
+            logger.info("AI Response: {}", response);
+            return parseAndCache(key, response.toString());
+        } catch (Exception e) {
+            // blockLast() cancels the model call and keeps the interrupt flag when interrupted,
+            // which happens when every caller waiting for this call has been canceled
+            if (Thread.currentThread().isInterrupted()) {
+                recordCall("stream", "canceled", start, null);
+                logger.info("Model call was canceled");
+                return NavigationAction.help("The request was canceled.");
+            }
+            recordCall("stream", "error", start, null);
+            logger.error("Error processing command", e);
+            return NavigationAction.help("I'm sorry, I encountered an error processing your request. Please try again.");
+        }
+    }
+
+    /**
+     * Parse a model response and cache the result, unless the response could not be parsed.
+     * The result is returned to every caller that shared the model call and to later cache hits,
+     * so it is the same immutable copy that is cached.
+     */
+    private NavigationAction parseAndCache(String key, String response) {
+        NavigationAction action = parseResponse(response);
+        if (action == null) {
+            return NavigationAction.help("I understood your request but had trouble formatting my response. Could you please rephrase?");
+        }
+        NavigationAction shared = action.immutableCopy();
+        responseCache.put(key, response, shared);
+        return shared;
+    }
+
+    /**
+     * Record the duration of a model call and, if the response reports it, the tokens it used.
+     */
+    private void recordCall(String mode, String outcome, long start, ChatResponse response) {
+        Timer.builder("assistant.llm.requests")
+                .description("Model calls, until the complete response has arrived")
+                .tag("mode", mode)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        if (hasUsage(response)) {
+            Usage usage = response.getMetadata().getUsage();
+            // Number keeps this independent of whether the client reports Integer or Long counts
+            Number prompt = usage.getPromptTokens();
+            Number total = usage.getTotalTokens();
+            long promptCount = prompt != null ? prompt.longValue() : 0;
+            promptTokens.increment(promptCount);
+            completionTokens.increment(Math.max(0, total.longValue() - promptCount));
+        }
+    }
+
+    private static boolean hasUsage(ChatResponse response) {
+        if (response == null || response.getMetadata() == null || response.getMetadata().getUsage() == null) {
+            return false;
+        }
+        Number total = response.getMetadata().getUsage().getTotalTokens();
+        return total != null && total.longValue() > 0;
+    }
+
+    /**
+     * The part of the conversation history that is sent to the model.
+     */
+    private static List<ChatMessage> recentHistory(List<ChatMessage> history) {
+        return history.size() > MAX_HISTORY_SIZE
+                ? List.copyOf(history.subList(history.size() - MAX_HISTORY_SIZE, history.size()))
+                : List.copyOf(history);
+    }
+
+    private Prompt buildPrompt(String userCommand, List<ChatMessage> recentHistory) {
+        // Build messages list with history
+        List<Message> messages = new ArrayList<>(recentHistory.size() + 2);
+        messages.add(new SystemMessage(SYSTEM_PROMPT));
+        
+        for (ChatMessage msg : recentHistory) {
+            switch (msg.role()) {
+                case USER -> messages.add(new UserMessage(msg.content()));
+                case ASSISTANT -> messages.add(new AssistantMessage(msg.content()));
+                case SYSTEM -> messages.add(new SystemMessage(msg.content()));
+            }
+        }
+        
+        // Add current user message
+        messages.add(new UserMessage(userCommand));
+        
+        return new Prompt(messages);
+    }
+
+    /**
+     * The system prompt, generated from the form registry. Use {@link #SYSTEM_PROMPT}.
+     */
+    private static String buildSystemPrompt() {
         StringBuilder sb = new StringBuilder();
         sb.append("You are a helpful virtual assistant for a web application called A2A Server. ");
         sb.append("Your job is to help users navigate to pages, fill out forms, and provide information.\n\n");
@@ -129,6 +377,9 @@ public class AssistantService {
         return sb.toString();
     }
 
+    /**
+     * Parse the JSON the model answered with, or return null if it is not valid JSON.
+     */
     @SuppressWarnings("unchecked")
     private NavigationAction parseResponse(String response) {
         try {
@@ -155,7 +406,7 @@ public class AssistantService {
             return new NavigationAction(action, formId, formData, message);
         } catch (JsonProcessingException e) {
             logger.error("Failed to parse AI response: {}", response, e);
-            return NavigationAction.help("I understood your request but had trouble formatting my response. Could you please rephrase?");
+            return null;
         }
     }
 
@@ -163,9 +414,7 @@ public class AssistantService {
      * Get a description of all available forms.
      */
     public String getFormsDescription() {
-        return FormInfo.getAvailableForms().stream()
-                .map(f -> String.format("• %s (%s): %s", f.displayName(), f.route(), f.description()))
-                .collect(Collectors.joining("\n"));
+        return FORMS_DESCRIPTION;
     }
 }
 
@@ -0,0 +1,154 @@
+package hr.example.assistant;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Single-flight execution of identical concurrent model calls.
+ *
+ * The first caller with a given key starts the call on its own virtual thread; callers that arrive
+ * with the same key while it is running wait for the same result instead of calling the model again.
+ * Every waiter receives the streamed output, late joiners first get what has been generated so far.
+ * The call belongs to no single caller: a waiter that is interrupted stops waiting, and only when
+ * the last waiter is gone is the call itself canceled.
+ */
+final class CommandCoalescer {
+
+    private final Map<String, Flight> flights = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("assistant-llm-", 0).factory());
+    private final Counter leaders;
+    private final Counter followers;
+
+    CommandCoalescer(MeterRegistry meterRegistry) {
+        this.leaders = Counter.builder("assistant.llm.coalescing")
+                .description("Commands that started a model call (leader) or joined one in flight (follower)")
+                .tag("role", "leader")
+                .register(meterRegistry);
+        this.followers = Counter.builder("assistant.llm.coalescing")
+                .description("Commands that started a model call (leader) or joined one in flight (follower)")
+                .tag("role", "follower")
+                .register(meterRegistry);
+        Gauge.builder("assistant.llm.in-flight", flights, Map::size)
+                .description("Distinct model calls in flight")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run {@code call} for {@code key}, or join the call for that key that is already running.
+     * {@code call} is given the consumer to hand its streamed output to.
+     *
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     */
+    NavigationAction execute(String key, Consumer<String> onToken,
+                             Function<Consumer<String>, NavigationAction> call) throws InterruptedException {
+        while (true) {
+            Flight created = new Flight();
+            Flight existing = flights.putIfAbsent(key, created);
+            Flight flight = existing != null ? existing : created;
+            if (!flight.join(onToken)) {
+                // Abandoned by all its waiters and being canceled; start over
+                flights.remove(key, flight);
+                continue;
+            }
+
+            if (existing == null) {
+                leaders.increment();
+                flight.start(executor.submit(() -> run(key, flight, call)));
+            } else {
+                followers.increment();
+            }
+
+            try {
+                return flight.result.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Model call failed", e.getCause());
+            } finally {
+                // Only true when this waiter gave up (was interrupted) as the last one
+                if (flight.leave(onToken)) {
+                    flights.remove(key, flight);
+                    flight.cancel();
+                }
+            }
+        }
+    }
+
+    private void run(String key, Flight flight, Function<Consumer<String>, NavigationAction> call) {
+        try {
+            NavigationAction action = call.apply(flight::token);
+            flights.remove(key, flight);
+            flight.result.complete(action);
+        } catch (Throwable e) {
+            flights.remove(key, flight);
+            flight.result.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * One model call and the callers waiting for it.
+     */
+    private static final class Flight {
+        final CompletableFuture<NavigationAction> result = new CompletableFuture<>();
+        private final StringBuilder received = new StringBuilder();
+        private final List<Consumer<String>> listeners = new ArrayList<>();
+        private int waiters;
+        private boolean abandoned;
+        private Future<?> call;
+
+        /**
+         * @return false if the flight has been abandoned and can no longer be joined
+         */
+        synchronized boolean join(Consumer<String> onToken) {
+            if (abandoned) {
+                return false;
+            }
+            waiters++;
+            if (!received.isEmpty()) {
+                onToken.accept(received.toString());
+            }
+            listeners.add(onToken);
+            return true;
+        }
+
+        synchronized void start(Future<?> call) {
+            this.call = call;
+        }
+
+        synchronized void token(String token) {
+            received.append(token);
+            for (Consumer<String> listener : listeners) {
+                listener.accept(token);
+            }
+        }
+
+        /**
+         * @return true if this was the last waiter of an unfinished call, which is then abandoned
+         */
+        synchronized boolean leave(Consumer<String> onToken) {
+            listeners.remove(onToken);
+            if (--waiters == 0 && !result.isDone()) {
+                abandoned = true;
+            }
+            return abandoned;
+        }
+
+        synchronized void cancel() {
+            if (call != null) {
+                call.cancel(true);
+            }
+        }
+    }
+}
@@ -2,16 +2,23 @@ package hr.example.assistant;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Represents information about available forms in the application.
+ *
+ * The available forms are an immutable registry created once when the class is loaded,
+ * with a lookup table by form ID. Besides its ID, display name and route, a form is recognized
+ * by its synonyms when {@link IntentRouter} answers navigation commands without the model.
  */
 public record FormInfo(
         String formId,
         String displayName,
         String description,
         String route,
-        List<FieldInfo> fields
+        List<FieldInfo> fields,
+        List<String> synonyms    // Other names users call the form by, for IntentRouter
 ) {
     public record FieldInfo(
             String name,
@@ -20,59 +27,70 @@ public record FormInfo(
             boolean required
     ) {}
 
+    private static final List<FormInfo> AVAILABLE_FORMS = List.of(
+            new FormInfo(
+                    "contact",
+                    "Contact Form",
+                    "Submit a contact inquiry or message",
+                    "contact",
+                    List.of(
+                            new FieldInfo("firstName", "text", "First name of the contact", true),
+                            new FieldInfo("lastName", "text", "Last name of the contact", true),
+                            new FieldInfo("email", "email", "Email address", true),
+                            new FieldInfo("phone", "text", "Phone number", false),
+                            new FieldInfo("company", "text", "Company name", false),
+                            new FieldInfo("message", "textarea", "Message content", false)
+                    ),
+                    List.of("contact us", "inquiry", "enquiry")
+            ),
+            new FormInfo(
+                    "employee",
+                    "Employee Registration",
+                    "Register a new employee in the system",
+                    "employee",
+                    List.of(
+                            new FieldInfo("firstName", "text", "First name of the employee", true),
+                            new FieldInfo("lastName", "text", "Last name of the employee", true),
+                            new FieldInfo("email", "email", "Work email address", true),
+                            new FieldInfo("department", "select", "Department (Engineering, Sales, Marketing, HR, Finance, Operations)", false),
+                            new FieldInfo("position", "text", "Job position/title", false),
+                            new FieldInfo("hireDate", "date", "Hire date (YYYY-MM-DD format)", false),
+                            new FieldInfo("salary", "number", "Annual salary", false)
+                    ),
+                    List.of("new employee", "new hire", "onboarding")
+            ),
+            new FormInfo(
+                    "support",
+                    "Support Ticket",
+                    "Submit a support ticket or bug report",
+                    "support",
+                    List.of(
+                            new FieldInfo("subject", "text", "Ticket subject/title", true),
+                            new FieldInfo("description", "textarea", "Detailed description of the issue", true),
+                            new FieldInfo("reporterName", "text", "Your name", true),
+                            new FieldInfo("reporterEmail", "email", "Your email address", true),
+                            new FieldInfo("priority", "select", "Priority level (LOW, MEDIUM, HIGH, CRITICAL)", false),
+                            new FieldInfo("category", "select", "Category (TECHNICAL, BILLING, GENERAL, FEATURE_REQUEST, BUG_REPORT)", false)
+                    ),
+                    List.of("ticket", "support request", "bug report", "help desk", "helpdesk")
+            )
+    );
+
+    private static final Map<String, FormInfo> FORMS_BY_ID = AVAILABLE_FORMS.stream()
+            .collect(Collectors.toUnmodifiableMap(FormInfo::formId, Function.identity()));
+
+    /**
+     * All forms, in the order they are presented to users and the model.
+     */
     public static List<FormInfo> getAvailableForms() {
-        return List.of(
-                new FormInfo(
-                        "contact",
-                        "Contact Form",
-                        "Submit a contact inquiry or message",
-                        "contact",
-                        List.of(
-                                new FieldInfo("firstName", "text", "First name of the contact", true),
-                                new FieldInfo("lastName", "text", "Last name of the contact", true),
-                                new FieldInfo("email", "email", "Email address", true),
-                                new FieldInfo("phone", "text", "Phone number", false),
-                                new FieldInfo("company", "text", "Company name", false),
-                                new FieldInfo("message", "textarea", "Message content", false)
-                        )
-                ),
-                new FormInfo(
-                        "employee",
-                        "Employee Registration",
-                        "Register a new employee in the system",
-                        "employee",
-                        List.of(
-                                new FieldInfo("firstName", "text", "First name of the employee", true),
-                                new FieldInfo("lastName", "text", "Last name of the employee", true),
-                                new FieldInfo("email", "email", "Work email address", true),
-                                new FieldInfo("department", "select", "Department (Engineering, Sales, Marketing, HR, Finance, Operations)", false),
-                                new FieldInfo("position", "text", "Job position/title", false),
-                                new FieldInfo("hireDate", "date", "Hire date (YYYY-MM-DD format)", false),
-                                new FieldInfo("salary", "number", "Annual salary", false)
-                        )
-                ),
-                new FormInfo(
-                        "support",
-                        "Support Ticket",
-                        "Submit a support ticket or bug report",
-                        "support",
-                        List.of(
-                                new FieldInfo("subject", "text", "Ticket subject/title", true),
-                                new FieldInfo("description", "textarea", "Detailed description of the issue", true),
-                                new FieldInfo("reporterName", "text", "Your name", true),
-                                new FieldInfo("reporterEmail", "email", "Your email address", true),
-                                new FieldInfo("priority", "select", "Priority level (LOW, MEDIUM, HIGH, CRITICAL)", false),
-                                new FieldInfo("category", "select", "Category (TECHNICAL, BILLING, GENERAL, FEATURE_REQUEST, BUG_REPORT)", false)
-                        )
-                )
-        );
+        return AVAILABLE_FORMS;
     }
 
+    /**
+     * Get a form by its ID, or null if there is no such form.
+     */
     public static FormInfo getFormById(String formId) {
-        return getAvailableForms().stream()
-                .filter(f -> f.formId().equals(formId))
-                .findFirst()
-                .orElse(null);
+        return formId != null ? FORMS_BY_ID.get(formId) : null;
     }
 }
 
@@ -0,0 +1,177 @@
+package hr.example.assistant;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.text.Normalizer;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Answers simple navigation and listing commands without calling the model.
+ *
+ * Forms are recognized by a word trie of their IDs, display names, routes and synonyms, built
+ * from {@link FormInfo} once, plus the pages that are not forms. A command is only answered here
+ * when it names exactly one form or page and every other word is a known filler such as
+ * "please take me to the"; "list forms" and the like list the forms. Anything else, e.g. a command
+ * that carries data ("contact form for John"), names two forms or contains an unknown word,
+ * goes to the model as before.
+ */
+final class IntentRouter {
+
+    // Added by the floating assistant in front of the user's command
+    private static final Pattern PAGE_CONTEXT = Pattern.compile("^Context: User is currently on .*? page\\. ");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MAX_WORDS = 12;
+
+    private static final Set<String> NAVIGATION_WORDS = Set.of(
+            "please", "can", "could", "would", "you", "i", "want", "wanna", "like", "need", "to", "me", "the",
+            "a", "an", "go", "goto", "take", "open", "show", "navigate", "bring", "display", "view", "see",
+            "visit", "get", "let", "lets", "s", "page", "form", "screen", "up", "now", "jump", "switch",
+            "head", "move", "my", "hi", "hey");
+    private static final Set<String> LIST_WORDS = Set.of(
+            "list", "show", "what", "which", "available", "all", "forms", "are", "there", "do", "you", "have",
+            "can", "i", "me", "the", "of", "see", "please", "is", "fill", "out", "use", "could", "your", "give");
+    private static final Set<String> LIST_TRIGGERS = Set.of("list", "show", "what", "which", "available", "all");
+
+    // Pages other than the forms, with the names they are recognized by
+    private static final Map<Target, List<String>> PAGES = Map.of(
+            new Target("submissions", "Form Submissions"),
+            List.of("submissions", "submission", "form submissions", "submitted forms", "submissions dashboard"));
+
+    private final boolean enabled;
+    private final String formsDescription;
+    private final Node root = new Node();
+    private final Counter navigations;
+    private final Counter listings;
+    private final Counter ambiguous;
+    private final Counter misses;
+
+    IntentRouter(MeterRegistry meterRegistry, boolean enabled, String formsDescription) {
+        this.enabled = enabled;
+        this.formsDescription = formsDescription;
+        for (FormInfo form : FormInfo.getAvailableForms()) {
+            Target target = new Target(form.formId(), form.displayName());
+            add(form.formId(), target);
+            add(form.displayName(), target);
+            add(form.route(), target);
+            form.synonyms().forEach(synonym -> add(synonym, target));
+        }
+        PAGES.forEach((page, names) -> names.forEach(name -> add(name, page)));
+
+        this.navigations = counter(meterRegistry, "navigate");
+        this.listings = counter(meterRegistry, "list_forms");
+        this.ambiguous = counter(meterRegistry, "ambiguous");
+        this.misses = counter(meterRegistry, "miss");
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("assistant.intent.fast-path")
+                .description("Commands answered without the model (navigate, list_forms) or passed on to it (ambiguous, miss)")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * The action for {@code command}, or null if the command has to go to the model.
+     */
+    NavigationAction route(String command) {
+        if (!enabled) {
+            return null;
+        }
+        String[] words = words(command);
+        if (words.length == 0 || words.length > MAX_WORDS) {
+            misses.increment();
+            return null;
+        }
+
+        Set<Target> targets = new HashSet<>(2);
+        boolean navigation = true;
+        boolean listing = true;
+        boolean listTrigger = false;
+        boolean forms = false;
+        int i = 0;
+        while (i < words.length) {
+            // Longest name in the trie starting at this word
+            Target match = null;
+            int end = i;
+            Node node = root;
+            for (int j = i; j < words.length && (node = node.children.get(words[j])) != null; j++) {
+                if (node.target != null) {
+                    match = node.target;
+                    end = j + 1;
+                }
+            }
+            if (match != null) {
+                targets.add(match);
+                i = end;
+                continue;
+            }
+
+            String word = words[i++];
+            navigation &= NAVIGATION_WORDS.contains(word);
+            listing &= LIST_WORDS.contains(word);
+            listTrigger |= LIST_TRIGGERS.contains(word);
+            forms |= word.equals("forms");
+            if (!navigation && !listing) {
+                misses.increment();
+                return null;
+            }
+        }
+
+        if (navigation && targets.size() == 1) {
+            navigations.increment();
+            Target target = targets.iterator().next();
+            return NavigationAction.navigate(target.formId(), "Opening " + target.displayName() + ".");
+        }
+        if (navigation && targets.size() > 1) {
+            ambiguous.increment();
+            return null;
+        }
+        if (listing && targets.isEmpty() && forms && listTrigger) {
+            listings.increment();
+            return NavigationAction.listForms("Here are the forms I can help you with:\n" + formsDescription);
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Lower-case words without diacritics, so that "Open the CONTACT form!" and "open contact form" match alike.
+     */
+    private static String[] words(String text) {
+        if (text == null) {
+            return new String[0];
+        }
+        String plain = MARKS.matcher(Normalizer.normalize(PAGE_CONTEXT.matcher(text).replaceFirst(""),
+                Normalizer.Form.NFD)).replaceAll("");
+        String trimmed = NON_WORD.matcher(plain.toLowerCase(Locale.ROOT)).replaceAll(" ").strip();
+        return trimmed.isEmpty() ? new String[0] : trimmed.split(" ");
+    }
+
+    private void add(String name, Target target) {
+        Node node = root;
+        for (String word : words(name)) {
+            node = node.children.computeIfAbsent(word, w -> new Node());
+        }
+        if (node != root) {
+            node.target = target;
+        }
+    }
+
+    /**
+     * A form or page that can be navigated to: its form ID (or route), and how to refer to it.
+     */
+    private record Target(String formId, String displayName) {}
+
+    private static final class Node {
+        final Map<String, Node> children = new HashMap<>(4);
+        Target target;
+    }
+}
@@ -1,5 +1,9 @@
 package hr.example.assistant;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -30,5 +34,32 @@ public record NavigationAction(
     public static NavigationAction listForms(String message) {
         return new NavigationAction("list_forms", null, Map.of(), message);
     }
+
+    /**
+     * A copy that can be handed to several callers: its form data, nested maps and lists included,
+     * cannot be modified.
+     */
+    public NavigationAction immutableCopy() {
+        return new NavigationAction(action, formId, formData != null ? immutableMap(formData) : Map.of(), message);
+    }
+
+    private static Map<String, Object> immutableMap(Map<?, ?> map) {
+        // Not Map.copyOf, which rejects the null values the model may answer with
+        Map<String, Object> copy = new LinkedHashMap<>();
+        map.forEach((key, value) -> copy.put(String.valueOf(key), immutableValue(value)));
+        return Collections.unmodifiableMap(copy);
+    }
+
+    private static Object immutableValue(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            return immutableMap(map);
+        }
+        if (value instanceof List<?> list) {
+            List<Object> copy = new ArrayList<>(list.size());
+            list.forEach(element -> copy.add(immutableValue(element)));
+            return Collections.unmodifiableList(copy);
+        }
+        return value;
+    }
 }
 
@@ -0,0 +1,119 @@
+package hr.example.assistant;
+
+/**
+ * Extracts the {@code message} field from the assistant's JSON response while it is being streamed.
+ *
+ * Chunks of raw model output are fed in as they arrive; the decoded text of the top-level
+ * {@code "message"} string is returned as soon as its characters are known, so it can be shown
+ * before the rest of the object (e.g. the form data) has been generated. A {@code message} key
+ * inside nested objects, like the contact form's field, is ignored. Anything around the object,
+ * such as a markdown code fence, is skipped. The complete response is still parsed as a whole
+ * once it has arrived; this only serves the preview.
+ */
+public final class StreamingMessageParser {
+
+    private final StringBuilder message = new StringBuilder();
+    private final StringBuilder key = new StringBuilder();
+    private final StringBuilder unicode = new StringBuilder(4);
+    private int depth;
+    private boolean expectKey;
+    private boolean inString;
+    private boolean inKey;
+    private boolean inMessage;
+    private boolean escaped;
+    private boolean messageKey;
+
+    /**
+     * Feed the next chunk of model output.
+     *
+     * @return the message text this chunk added, empty if none
+     */
+    public synchronized String feed(String chunk) {
+        int before = message.length();
+        for (int i = 0; i < chunk.length(); i++) {
+            if (inString) {
+                string(chunk.charAt(i));
+            } else {
+                structure(chunk.charAt(i));
+            }
+        }
+        return message.substring(before);
+    }
+
+    /**
+     * The message text received so far.
+     */
+    public synchronized String message() {
+        return message.toString();
+    }
+
+    private void structure(char c) {
+        switch (c) {
+            case '{', '[' -> {
+                depth++;
+                expectKey = depth == 1 && c == '{';
+            }
+            case '}', ']' -> depth--;
+            case ',' -> expectKey = depth == 1;
+            case ':' -> expectKey = false;
+            case '"' -> {
+                inString = true;
+                inKey = depth == 1 && expectKey;
+                inMessage = depth == 1 && !expectKey && messageKey;
+                messageKey = false;
+                key.setLength(0);
+            }
+            default -> {
+                // Whitespace, literals and numbers carry nothing we are looking for
+            }
+        }
+    }
+
+    private void string(char c) {
+        if (!unicode.isEmpty()) {
+            unicode.append(c);
+            if (unicode.length() == 5) {
+                try {
+                    append((char) Integer.parseInt(unicode.substring(1), 16));
+                } catch (NumberFormatException e) {
+                    // Invalid JSON; the final parse will report it
+                }
+                unicode.setLength(0);
+            }
+            return;
+        }
+        if (escaped) {
+            escaped = false;
+            switch (c) {
+                case 'n' -> append('\n');
+                case 't' -> append('\t');
+                case 'r' -> append('\r');
+                case 'b' -> append('\b');
+                case 'f' -> append('\f');
+                case 'u' -> unicode.append('u');
+                default -> append(c);
+            }
+            return;
+        }
+        if (c == '\\') {
+            escaped = true;
+        } else if (c == '"') {
+            inString = false;
+            if (inKey) {
+                messageKey = "message".contentEquals(key);
+            }
+            inKey = false;
+            inMessage = false;
+        } else {
+            append(c);
+        }
+    }
+
+    private void append(char c) {
+        if (inKey) {
+            key.append(c);
+        } else if (inMessage) {
+            message.append(c);
+        }
+    }
+}
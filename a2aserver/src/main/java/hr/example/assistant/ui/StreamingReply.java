@@ -0,0 +1,71 @@
+package hr.example.assistant.ui;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import hr.example.assistant.StreamingMessageParser;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Shows an assistant reply in the chat while it is being generated.
+ *
+ * Receives the raw model output on the thread that processes the command and pushes the text of
+ * its {@code message} field to the browser, replacing the typing indicator with a chat bubble
+ * at the first token. Tokens that arrive while an update is waiting for the UI lock are folded
+ * into that update, so a fast model does not queue one push per token.
+ */
+final class StreamingReply implements Consumer<String> {
+
+    private final UI ui;
+    private final VerticalLayout chatMessages;
+    private final Function<String, Component> render;
+    private final Runnable afterUpdate;
+    private final StreamingMessageParser parser = new StreamingMessageParser();
+    private final AtomicBoolean updatePending = new AtomicBoolean();
+    // Only accessed with the UI lock held
+    private Component shown;
+    private boolean finished;
+
+    /**
+     * @param placeholder the component to replace with the reply, e.g. a typing indicator
+     * @param render      creates the chat bubble for the text received so far
+     * @param afterUpdate run after each update, e.g. to scroll to the bottom
+     */
+    StreamingReply(UI ui, VerticalLayout chatMessages, Component placeholder,
+                   Function<String, Component> render, Runnable afterUpdate) {
+        this.ui = ui;
+        this.chatMessages = chatMessages;
+        this.shown = placeholder;
+        this.render = render;
+        this.afterUpdate = afterUpdate;
+    }
+
+    @Override
+    public void accept(String chunk) {
+        if (!parser.feed(chunk).isEmpty() && updatePending.compareAndSet(false, true)) {
+            ui.access(this::update);
+        }
+    }
+
+    private void update() {
+        updatePending.set(false);
+        if (finished) {
+            return;
+        }
+        Component bubble = render.apply(parser.message());
+        chatMessages.replace(shown, bubble);
+        shown = bubble;
+        afterUpdate.run();
+    }
+
+    /**
+     * Remove the preview, to make room for the final message. Must be called with the UI lock held.
+     */
+    void finish() {
+        finished = true;
+        chatMessages.remove(shown);
+    }
+}
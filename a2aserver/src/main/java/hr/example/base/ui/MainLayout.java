@@ -12,6 +12,7 @@ import com.vaadin.flow.router.Layout;
 import com.vaadin.flow.server.menu.MenuConfiguration;
 import com.vaadin.flow.server.menu.MenuEntry;
 import hr.example.assistant.AssistantService;
+import hr.example.assistant.ui.ChatJobExecutor;
 import hr.example.assistant.ui.FloatingAssistant;
 
 import static com.vaadin.flow.theme.lumo.LumoUtility.*;
@@ -19,12 +20,12 @@ import static com.vaadin.flow.theme.lumo.LumoUtility.*;
 @Layout
 public final class MainLayout extends AppLayout {
 
-    MainLayout(AssistantService assistantService) {
+    MainLayout(AssistantService assistantService, ChatJobExecutor jobExecutor) {
         setPrimarySection(Section.DRAWER);
         addToDrawer(createHeader(), new Scroller(createSideNav()));
         
         // Add floating assistant to all pages
-        FloatingAssistant floatingAssistant = new FloatingAssistant(assistantService);
+        FloatingAssistant floatingAssistant = new FloatingAssistant(assistantService, jobExecutor);
         getElement().appendChild(floatingAssistant.getElement());
     }
 
@@ -6,11 +6,12 @@ import org.jspecify.annotations.Nullable;
 import java.time.Instant;
 
 @Entity
-@Table(name = "contact")
+@Table(name = "contact", indexes = @Index(name = "idx_contact_created_at", columnList = "created_at, contact_id"))
 public class Contact {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "contact_seq")
+    @SequenceGenerator(name = "contact_seq", sequenceName = "Contact_SEQ", allocationSize = 50)
     @Column(name = "contact_id")
     private Long id;
 
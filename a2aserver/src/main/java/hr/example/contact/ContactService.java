@@ -1,17 +1,22 @@
 package hr.example.contact;
 
+import hr.example.submissions.SubmissionRecorder;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
 public class ContactService {
 
     private final ContactRepository contactRepository;
+    private final SubmissionRecorder submissionRecorder;
 
-    public ContactService(ContactRepository contactRepository) {
+    public ContactService(ContactRepository contactRepository, SubmissionRecorder submissionRecorder) {
         this.contactRepository = contactRepository;
+        this.submissionRecorder = submissionRecorder;
     }
 
     @Transactional
@@ -21,7 +26,19 @@ public class ContactService {
         contact.setPhone(phone);
         contact.setCompany(company);
         contact.setMessage(message);
-        return contactRepository.save(contact);
+        Contact saved = contactRepository.save(contact);
+        submissionRecorder.record(saved);
+        return saved;
+    }
+
+    /**
+     * Persist new contacts in a single transaction. Inserts are sent to the database in JDBC batches.
+     */
+    @Transactional
+    public List<Contact> createContacts(List<Contact> contacts) {
+        List<Contact> saved = contactRepository.saveAll(contacts);
+        submissionRecorder.recordContacts(saved);
+        return saved;
     }
 
     @Transactional(readOnly = true)
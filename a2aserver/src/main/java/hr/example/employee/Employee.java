@@ -7,11 +7,12 @@ import java.time.Instant;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "employee")
+@Table(name = "employee", indexes = @Index(name = "idx_employee_created_at", columnList = "created_at, employee_id"))
 public class Employee {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_seq")
+    @SequenceGenerator(name = "employee_seq", sequenceName = "Employee_SEQ", allocationSize = 50)
     @Column(name = "employee_id")
     private Long id;
 
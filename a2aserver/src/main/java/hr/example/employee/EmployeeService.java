@@ -1,19 +1,23 @@
 package hr.example.employee;
 
+import hr.example.submissions.SubmissionRecorder;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.List;
 
 @Service
 public class EmployeeService {
 
     private final EmployeeRepository employeeRepository;
+    private final SubmissionRecorder submissionRecorder;
 
-    public EmployeeService(EmployeeRepository employeeRepository) {
+    public EmployeeService(EmployeeRepository employeeRepository, SubmissionRecorder submissionRecorder) {
         this.employeeRepository = employeeRepository;
+        this.submissionRecorder = submissionRecorder;
     }
 
     @Transactional
@@ -24,7 +28,19 @@ public class EmployeeService {
         employee.setPosition(position);
         employee.setHireDate(hireDate);
         employee.setSalary(salary);
-        return employeeRepository.save(employee);
+        Employee saved = employeeRepository.save(employee);
+        submissionRecorder.record(saved);
+        return saved;
+    }
+
+    /**
+     * Persist new employees in a single transaction. Inserts are sent to the database in JDBC batches.
+     */
+    @Transactional
+    public List<Employee> createEmployees(List<Employee> employees) {
+        List<Employee> saved = employeeRepository.saveAll(employees);
+        submissionRecorder.recordEmployees(saved);
+        return saved;
     }
 
     @Transactional(readOnly = true)
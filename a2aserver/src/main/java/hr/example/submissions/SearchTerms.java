@@ -0,0 +1,132 @@
+package hr.example.submissions;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Splits text into the terms of the submissions search index.
+ *
+ * A term is a run of letters and digits, lower-cased and with diacritics removed, so that
+ * "Antić" and "antic" are the same term. Letters that do not decompose into a base letter and a
+ * mark, such as Croatian "đ", are folded explicitly. Query terms match every term they are a prefix of.
+ */
+public final class SearchTerms {
+
+    private static final int MAX_TERM_LENGTH = 40;
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Map<Character, String> SPECIAL = Map.of(
+            'đ', "d", 'Đ', "d", 'ł', "l", 'Ł', "l", 'ø', "o", 'Ø', "o",
+            'ß', "ss", 'æ', "ae", 'Æ', "ae", 'ı', "i");
+    // Folded form of the Latin, Greek and Cyrillic letters, computed once
+    private static final String[] FOLDED = new String[0x0530];
+
+    static {
+        for (char c = 0; c < FOLDED.length; c++) {
+            FOLDED[c] = computeFold(c);
+        }
+    }
+
+    private SearchTerms() {
+    }
+
+    /**
+     * A part of a text that matches a query term.
+     *
+     * @param start index of the first matching character
+     * @param end   index after the last matching character
+     */
+    public record Match(int start, int end) {}
+
+    /**
+     * The terms of {@code text}, in order and with duplicates.
+     */
+    public static List<String> of(String text) {
+        List<String> terms = new ArrayList<>();
+        scan(text, (start, end, term) -> terms.add(term));
+        return terms;
+    }
+
+    /**
+     * The parts of {@code text} that match {@code queryTerms}, i.e. the beginnings of the words
+     * that start with a query term, in order.
+     */
+    public static List<Match> matches(String text, List<String> queryTerms) {
+        List<Match> matches = new ArrayList<>();
+        if (queryTerms.isEmpty()) {
+            return matches;
+        }
+        scan(text, (start, end, term) -> {
+            int longest = 0;
+            for (String queryTerm : queryTerms) {
+                if (queryTerm.length() > longest && term.startsWith(queryTerm)) {
+                    longest = queryTerm.length();
+                }
+            }
+            if (longest > 0) {
+                // Map the matched length of the term back to characters of the text
+                int i = start;
+                for (int folded = 0; folded < longest && i < end; i++) {
+                    folded += fold(text.charAt(i)).length();
+                }
+                while (i < end && Character.getType(text.charAt(i)) == Character.NON_SPACING_MARK) {
+                    i++;
+                }
+                matches.add(new Match(start, i));
+            }
+        });
+        return matches;
+    }
+
+    private static void scan(String text, TermConsumer consumer) {
+        if (text == null) {
+            return;
+        }
+        StringBuilder term = new StringBuilder();
+        int start = -1;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c) || start >= 0 && Character.getType(c) == Character.NON_SPACING_MARK) {
+                if (start < 0) {
+                    start = i;
+                }
+                term.append(fold(c));
+            } else if (start >= 0) {
+                emit(consumer, start, i, term);
+                start = -1;
+            }
+        }
+        if (start >= 0) {
+            emit(consumer, start, text.length(), term);
+        }
+    }
+
+    private static void emit(TermConsumer consumer, int start, int end, StringBuilder term) {
+        if (!term.isEmpty()) {
+            consumer.accept(start, end, term.length() > MAX_TERM_LENGTH
+                    ? term.substring(0, MAX_TERM_LENGTH) : term.toString());
+        }
+        term.setLength(0);
+    }
+
+    private static String fold(char c) {
+        return c < FOLDED.length ? FOLDED[c] : computeFold(c);
+    }
+
+    private static String computeFold(char c) {
+        String special = SPECIAL.get(c);
+        if (special != null) {
+            return special;
+        }
+        String decomposed = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+        return MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    @FunctionalInterface
+    private interface TermConsumer {
+        void accept(int start, int end, String term);
+    }
+}
@@ -0,0 +1,140 @@
+package hr.example.submissions;
+
+import hr.example.contact.Contact;
+import hr.example.employee.Employee;
+import hr.example.support.SupportTicket;
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A row of the submissions list: one per contact, employee and support ticket, written in the same
+ * transaction as the form entity (see {@link SubmissionRecorder}). Title and description are rendered
+ * when the row is written, and the searchable fields are kept lower-case in {@code search_text},
+ * so the list is read from this table alone.
+ */
+@Entity
+@Table(name = "submission",
+        uniqueConstraints = @UniqueConstraint(name = "uk_submission_source", columnNames = {"form_type", "source_id"}),
+        indexes = {
+                @Index(name = "idx_submission_form_type_created_at", columnList = "form_type, created_at, source_id"),
+                @Index(name = "idx_submission_created_at", columnList = "created_at, form_type, source_id")
+        })
+public class Submission {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "submission_seq")
+    @SequenceGenerator(name = "submission_seq", sequenceName = "Submission_SEQ", allocationSize = 50)
+    @Column(name = "submission_id")
+    private Long id;
+
+    @Column(name = "form_type", length = 16, nullable = false)
+    private String formType;
+
+    // ID of the contact, employee or support ticket
+    @Column(name = "source_id", nullable = false)
+    private Long sourceId;
+
+    @Column(name = "title", nullable = false)
+    private String title;
+
+    @Column(name = "description", length = 4000, nullable = false)
+    private String description;
+
+    @Column(name = "search_text", length = 8000, nullable = false)
+    private String searchText;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    protected Submission() {
+    }
+
+    private Submission(String formType, Long sourceId, String title, String description, Instant createdAt,
+                       String... searchable) {
+        this.formType = formType;
+        this.sourceId = sourceId;
+        this.title = title;
+        this.description = description;
+        this.createdAt = createdAt;
+        // One field per line, so a search does not match across fields
+        this.searchText = Stream.of(searchable)
+                .filter(Objects::nonNull)
+                .map(text -> text.toLowerCase(Locale.ROOT))
+                .collect(Collectors.joining("\n"));
+    }
+
+    public static Submission of(Contact contact) {
+        return new Submission(
+                "CONTACT",
+                contact.getId(),
+                contact.getFirstName() + " " + contact.getLastName(),
+                contact.getMessage() != null ? contact.getMessage() : "No message",
+                contact.getCreatedAt(),
+                contact.getFirstName() + " " + contact.getLastName(),
+                contact.getEmail(),
+                contact.getPhone(),
+                contact.getCompany(),
+                contact.getMessage());
+    }
+
+    public static Submission of(Employee employee) {
+        return new Submission(
+                "EMPLOYEE",
+                employee.getId(),
+                employee.getFirstName() + " " + employee.getLastName(),
+                employee.getPosition() != null ? employee.getPosition() + " in " + employee.getDepartment() : "New Employee",
+                employee.getCreatedAt(),
+                employee.getFirstName() + " " + employee.getLastName(),
+                employee.getEmail(),
+                employee.getDepartment(),
+                employee.getPosition());
+    }
+
+    public static Submission of(SupportTicket ticket) {
+        return new Submission(
+                "SUPPORT",
+                ticket.getId(),
+                ticket.getSubject(),
+                ticket.getDescription(),
+                ticket.getCreatedAt(),
+                ticket.getSubject(),
+                ticket.getDescription(),
+                ticket.getReporterName(),
+                ticket.getReporterEmail(),
+                ticket.getPriority() != null ? ticket.getPriority().name() : null,
+                ticket.getCategory() != null ? ticket.getCategory().name().replace("_", " ") : null);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getFormType() {
+        return formType;
+    }
+
+    public Long getSourceId() {
+        return sourceId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getSearchText() {
+        return searchText;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,127 @@
+package hr.example.submissions;
+
+import hr.example.contact.ContactRepository;
+import hr.example.employee.EmployeeRepository;
+import hr.example.support.SupportTicketRepository;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Writes the rows of the submissions list for form entities that have none, i.e. the ones saved
+ * before the list had its own table.
+ *
+ * Runs once in the background after startup. Each form table is read in ID order, {@code batch-size}
+ * entities per transaction, and rows are only inserted for entities without one, so the job can be
+ * interrupted and run again. Entities created while it runs already come with their row.
+ */
+@Component
+public class SubmissionBackfill {
+
+    private static final Logger logger = LoggerFactory.getLogger(SubmissionBackfill.class);
+    private static final Sort ID_ORDER = Sort.by("id");
+
+    private final ContactRepository contactRepository;
+    private final EmployeeRepository employeeRepository;
+    private final SupportTicketRepository supportTicketRepository;
+    private final SubmissionRepository submissionRepository;
+    private final SubmissionRecorder submissionRecorder;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+
+    public SubmissionBackfill(ContactRepository contactRepository,
+                              EmployeeRepository employeeRepository,
+                              SupportTicketRepository supportTicketRepository,
+                              SubmissionRepository submissionRepository,
+                              SubmissionRecorder submissionRecorder,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${submissions.backfill.enabled:true}") boolean enabled,
+                              @Value("${submissions.backfill.batch-size:500}") int batchSize) {
+        this.contactRepository = contactRepository;
+        this.employeeRepository = employeeRepository;
+        this.supportTicketRepository = supportTicketRepository;
+        this.submissionRepository = submissionRepository;
+        this.submissionRecorder = submissionRecorder;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (enabled) {
+            Thread.ofVirtual().name("submission-backfill").start(this::run);
+        }
+    }
+
+    /**
+     * Backfill all form tables.
+     *
+     * @return number of rows written
+     */
+    public long run() {
+        try {
+            long written = backfill("CONTACT", contactRepository, Submission::of)
+                    + backfill("EMPLOYEE", employeeRepository, Submission::of)
+                    + backfill("SUPPORT", supportTicketRepository, Submission::of);
+            if (written > 0) {
+                logger.info("Backfilled {} rows of the submissions list", written);
+            }
+            return written;
+        } catch (RuntimeException e) {
+            logger.error("Backfilling the submissions list failed; it is retried on the next start", e);
+            return 0;
+        }
+    }
+
+    private <T> long backfill(String formType, JpaSpecificationExecutor<T> repository, Function<T, Submission> toSubmission) {
+        long written = 0;
+        Long lastId = null;
+        while (true) {
+            Long after = lastId;
+            Batch batch = transactionTemplate.execute(status -> {
+                List<Submission> submissions = repository.findBy(after(after),
+                                query -> query.sortBy(ID_ORDER).limit(batchSize).all())
+                        .stream()
+                        .map(toSubmission)
+                        .toList();
+                if (submissions.isEmpty()) {
+                    return new Batch(null, 0);
+                }
+                Set<Long> existing = new HashSet<>(submissionRepository.findSourceIds(formType,
+                        submissions.stream().map(Submission::getSourceId).toList()));
+                List<Submission> missing = submissions.stream()
+                        .filter(submission -> !existing.contains(submission.getSourceId()))
+                        .toList();
+                submissionRecorder.recordAll(missing);
+                return new Batch(submissions.getLast().getSourceId(), missing.size());
+            });
+            if (batch == null || batch.lastId() == null) {
+                return written;
+            }
+            written += batch.written();
+            lastId = batch.lastId();
+        }
+    }
+
+    private static <T> Specification<T> after(@Nullable Long id) {
+        return (root, query, cb) -> id == null ? cb.conjunction() : cb.greaterThan(root.get("id"), id);
+    }
+
+    private record Batch(@Nullable Long lastId, int written) {}
+}
@@ -0,0 +1,188 @@
+package hr.example.submissions;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Number of submissions per form type, in total and per day, kept in memory.
+ *
+ * The counters are seeded from the {@code submission} table when the application starts and then bumped by
+ * {@link SubmissionRecorder} for every row it writes (including the rows of {@link SubmissionBackfill}), once
+ * the transaction has committed. Per-day counts are kept for the last {@code days} days, in the server's
+ * time zone. Subscribers get a {@link Snapshot} at most once per {@code push-interval}, and only when
+ * something was counted or a new day began, so any number of open dashboards cost no queries.
+ */
+@Component
+public class SubmissionCounters {
+
+    private static final Logger logger = LoggerFactory.getLogger(SubmissionCounters.class);
+    private static final List<String> FORM_TYPES = Arrays.stream(SubmissionDTO.FormType.values())
+            .map(Enum::name)
+            .toList();
+
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final Map<String, LongAdder> totals = new HashMap<>();
+    private final ConcurrentSkipListMap<LocalDate, Map<String, LongAdder>> days = new ConcurrentSkipListMap<>();
+    private final int retainedDays;
+    private final AtomicBoolean changed = new AtomicBoolean();
+    // Only accessed by the publisher thread
+    private LocalDate publishedDay;
+    private final List<Consumer<Snapshot>> subscribers = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService publisher = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("submission-counters").daemon().factory());
+
+    public SubmissionCounters(SubmissionRepository repository,
+                              MeterRegistry meterRegistry,
+                              @Value("${submissions.counters.days:30}") int retainedDays,
+                              @Value("${submissions.counters.push-interval:1s}") Duration pushInterval) {
+        this.retainedDays = retainedDays;
+        for (String formType : FORM_TYPES) {
+            totals.put(formType, new LongAdder());
+            Gauge.builder("submissions.count", this, counters -> counters.total(formType))
+                    .description("Submissions per form type")
+                    .tag("form_type", formType)
+                    .register(meterRegistry);
+        }
+        seed(repository);
+        publisher.scheduleWithFixedDelay(this::publish, pushInterval.toMillis(), pushInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    private void seed(SubmissionRepository repository) {
+        for (SubmissionRepository.FormTypeCount count : repository.countByFormType()) {
+            LongAdder total = totals.get(count.getFormType());
+            if (total != null) {
+                total.add(count.getCount());
+            }
+        }
+        LocalDate today = LocalDate.now(zone);
+        Instant from = today.minusDays(retainedDays - 1).atStartOfDay(zone).toInstant();
+        for (SubmissionRepository.FormTypeDayCount count : repository.countByFormTypeAndDay(from, zone.getId())) {
+            // A day after today, from a clock ahead of ours, would move the window past days still counted
+            if (!count.getCreatedOn().isAfter(today)) {
+                LongAdder onDay = day(count.getCreatedOn()).get(count.getFormType());
+                if (onDay != null) {
+                    onDay.add(count.getCount());
+                }
+            }
+        }
+        logger.debug("Seeded submission counters: {}", snapshot().totals());
+    }
+
+    /**
+     * Count rows that were committed.
+     */
+    void addAll(Collection<Submission> submissions) {
+        LocalDate oldest = LocalDate.now(zone).minusDays(retainedDays - 1);
+        for (Submission submission : submissions) {
+            LongAdder total = totals.get(submission.getFormType());
+            if (total == null) {
+                continue;
+            }
+            total.increment();
+            LocalDate date = LocalDate.ofInstant(submission.getCreatedAt(), zone);
+            if (!date.isBefore(oldest)) {
+                day(date).get(submission.getFormType()).increment();
+            }
+        }
+        changed.set(true);
+    }
+
+    private Map<String, LongAdder> day(LocalDate date) {
+        Map<String, LongAdder> counts = days.get(date);
+        if (counts == null) {
+            Map<String, LongAdder> created = new HashMap<>();
+            FORM_TYPES.forEach(formType -> created.put(formType, new LongAdder()));
+            counts = Objects.requireNonNullElse(days.putIfAbsent(date, created), created);
+            // A new day: drop the ones that fell out of the window
+            days.headMap(date.minusDays(retainedDays - 1)).clear();
+        }
+        return counts;
+    }
+
+    public long total(String formType) {
+        LongAdder total = totals.get(formType);
+        return total != null ? total.sum() : 0;
+    }
+
+    /**
+     * Submissions of {@code formType} created on {@code date}, or 0 if the day is older than the retained days.
+     */
+    public long onDay(String formType, LocalDate date) {
+        Map<String, LongAdder> counts = days.get(date);
+        return counts != null ? counts.get(formType).sum() : 0;
+    }
+
+    public Snapshot snapshot() {
+        LocalDate today = LocalDate.now(zone);
+        Map<String, Long> totalCounts = new LinkedHashMap<>();
+        Map<String, Long> todayCounts = new LinkedHashMap<>();
+        for (String formType : FORM_TYPES) {
+            totalCounts.put(formType, total(formType));
+            todayCounts.put(formType, onDay(formType, today));
+        }
+        return new Snapshot(totalCounts, todayCounts);
+    }
+
+    /**
+     * Receive a snapshot whenever the counts have changed, at most once per push interval.
+     * The listener is called on the publisher thread and must not block.
+     */
+    public void subscribe(Consumer<Snapshot> listener) {
+        subscribers.add(listener);
+    }
+
+    public void unsubscribe(Consumer<Snapshot> listener) {
+        subscribers.remove(listener);
+    }
+
+    private void publish() {
+        // Also publish at midnight, when today's counts start over
+        LocalDate today = LocalDate.now(zone);
+        boolean newDay = !today.equals(publishedDay);
+        publishedDay = today;
+        if (!changed.getAndSet(false) && !newDay || subscribers.isEmpty()) {
+            return;
+        }
+        Snapshot snapshot = snapshot();
+        for (Consumer<Snapshot> listener : subscribers) {
+            try {
+                listener.accept(snapshot);
+            } catch (Exception e) {
+                logger.warn("Submission counter listener failed", e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        publisher.shutdownNow();
+    }
+
+    /**
+     * Counts per form type, in total and for today.
+     */
+    public record Snapshot(
+            Map<String, Long> totals,
+            Map<String, Long> today
+    ) {}
+}
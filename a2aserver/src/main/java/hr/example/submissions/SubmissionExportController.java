@@ -0,0 +1,111 @@
+package hr.example.submissions;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Download of the submissions list as CSV or NDJSON, with the filters of the submissions view.
+ *
+ * Rows are written to the response as they are read from the database (see
+ * {@link SubmissionsService#forEachSubmission}), through a buffer of {@value #BUFFER_SIZE} bytes and,
+ * with {@code gzip=true}, a gzip stream, so memory use does not depend on the number of rows.
+ */
+@RestController
+public class SubmissionExportController {
+
+    public static final String PATH = "/api/submissions/export";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final SubmissionsService submissionsService;
+    private final MeterRegistry meterRegistry;
+
+    public SubmissionExportController(SubmissionsService submissionsService, MeterRegistry meterRegistry) {
+        this.submissionsService = submissionsService;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @param format   {@code csv} or {@code ndjson}
+     * @param formType one of {@link SubmissionDTO.FormType}, or empty for all
+     * @param from     first day to include
+     * @param to       last day to include
+     * @param search   search text, as in the search box
+     * @param gzip     compress the file ({@code .csv.gz}, {@code .ndjson.gz})
+     */
+    @GetMapping(PATH)
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) String formType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        SubmissionExportFormat exportFormat = Arrays.stream(SubmissionExportFormat.values())
+                .filter(candidate -> candidate.name().equalsIgnoreCase(format))
+                .findFirst()
+                .orElse(null);
+        boolean knownFormType = formType == null || formType.isEmpty() || Arrays.stream(SubmissionDTO.FormType.values())
+                .anyMatch(type -> type.name().equals(formType));
+        if (exportFormat == null || !knownFormType) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        SubmissionFilter filter = new SubmissionFilter(formType, from, to, search);
+        String tag = exportFormat.name().toLowerCase(Locale.ROOT);
+        Counter rows = Counter.builder("submissions.export.rows")
+                .description("Rows written by submission exports")
+                .tag("format", tag)
+                .register(meterRegistry);
+        Timer duration = Timer.builder("submissions.export")
+                .description("Submission exports, until the last row was written")
+                .tag("format", tag)
+                .register(meterRegistry);
+
+        StreamingResponseBody body = out -> duration.record(() -> {
+            try {
+                OutputStream target = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : out;
+                Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), BUFFER_SIZE);
+                exportFormat.writeHeader(writer);
+                submissionsService.forEachSubmission(filter, submission -> {
+                    try {
+                        exportFormat.writeRow(writer, submission);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    rows.increment();
+                });
+                writer.flush();
+                if (target instanceof GZIPOutputStream compressed) {
+                    compressed.finish();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        String fileName = "submissions-" + LocalDate.now() + "." + exportFormat.extension() + (gzip ? ".gz" : "");
+        return ResponseEntity.ok()
+                .contentType(gzip
+                        ? MediaType.parseMediaType("application/gzip")
+                        : MediaType.parseMediaType(exportFormat.contentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
+    }
+}
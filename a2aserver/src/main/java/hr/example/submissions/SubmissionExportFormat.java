@@ -0,0 +1,97 @@
+package hr.example.submissions;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * File formats of the submissions export. Rows have the columns of the submissions list.
+ */
+public enum SubmissionExportFormat {
+
+    CSV("text/csv", "csv") {
+        // Characters that make a spreadsheet read a cell as a formula
+        private static final String FORMULA_START = "=+-@\t\r";
+
+        @Override
+        void writeHeader(Writer writer) throws IOException {
+            writer.write("form_type,id,title,description,created_at\r\n");
+        }
+
+        @Override
+        void writeRow(Writer writer, SubmissionDTO submission) throws IOException {
+            writer.write(submission.formType());
+            writer.write(',');
+            writer.write(String.valueOf(submission.id()));
+            writer.write(',');
+            writeField(writer, submission.title());
+            writer.write(',');
+            writeField(writer, submission.description());
+            writer.write(',');
+            writer.write(submission.createdAt().toString());
+            writer.write("\r\n");
+        }
+
+        // RFC 4180: quote fields that contain a separator, quote or line break, and double the quotes.
+        // Text that would start a formula is prefixed with an apostrophe, so a spreadsheet shows it as text.
+        private void writeField(Writer writer, String value) throws IOException {
+            if (!value.isEmpty() && FORMULA_START.indexOf(value.charAt(0)) >= 0) {
+                value = "'" + value;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    },
+
+    NDJSON("application/x-ndjson", "ndjson") {
+        private static final ObjectMapper objectMapper = new ObjectMapper();
+
+        @Override
+        void writeHeader(Writer writer) {
+        }
+
+        @Override
+        void writeRow(Writer writer, SubmissionDTO submission) throws IOException {
+            // Neither closes nor flushes the writer, the buffered response stream, so rows go out a buffer at a time
+            JsonGenerator json = objectMapper.createGenerator(writer)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+            json.writeStartObject();
+            json.writeStringField("formType", submission.formType());
+            json.writeNumberField("id", submission.id());
+            json.writeStringField("title", submission.title());
+            json.writeStringField("description", submission.description());
+            json.writeStringField("createdAt", submission.createdAt().toString());
+            json.writeEndObject();
+            json.flush();
+            writer.write('\n');
+        }
+    };
+
+    private final String contentType;
+    private final String extension;
+
+    SubmissionExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    abstract void writeHeader(Writer writer) throws IOException;
+
+    abstract void writeRow(Writer writer, SubmissionDTO submission) throws IOException;
+}
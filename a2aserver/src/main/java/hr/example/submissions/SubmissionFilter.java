@@ -0,0 +1,33 @@
+package hr.example.submissions;
+
+import org.jspecify.annotations.Nullable;
+
+import java.time.LocalDate;
+
+/**
+ * Filters of the submissions list. Null or empty values do not filter.
+ *
+ * @param formType   one of {@link SubmissionDTO.FormType}
+ * @param fromDate   first day to include, in the server's time zone
+ * @param toDate     last day to include
+ * @param searchText text to find, case-insensitively, in the searchable fields of a submission: name,
+ *                   email, phone, company and message of a contact; name, email, department and
+ *                   position of an employee; subject, description, reporter name and email, priority
+ *                   and category of a support ticket
+ */
+public record SubmissionFilter(
+        @Nullable String formType,
+        @Nullable LocalDate fromDate,
+        @Nullable LocalDate toDate,
+        @Nullable String searchText
+) {
+    public static final SubmissionFilter NONE = new SubmissionFilter(null, null, null, null);
+
+    public boolean includes(String type) {
+        return formType == null || formType.isEmpty() || formType.equals(type);
+    }
+
+    public boolean hasSearchText() {
+        return searchText != null && !searchText.isBlank();
+    }
+}
@@ -0,0 +1,18 @@
+package hr.example.submissions;
+
+import java.time.Instant;
+
+/**
+ * Position of a submission in the submissions list, which is ordered newest first, then by form type
+ * and newest ID first. A page of the list is requested as the rows after the key of the row before it
+ * (keyset paging), which the database answers from the index without counting the rows before it.
+ */
+public record SubmissionKey(
+        Instant createdAt,
+        String formType,
+        Long id
+) {
+    public static SubmissionKey of(SubmissionDTO submission) {
+        return new SubmissionKey(submission.createdAt(), submission.formType(), submission.id());
+    }
+}
@@ -0,0 +1,78 @@
+package hr.example.submissions;
+
+import hr.example.contact.Contact;
+import hr.example.employee.Employee;
+import hr.example.support.SupportTicket;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * Writes the rows of the submissions list. Called by the form services right after they save
+ * new entities, in the same transaction, so a form entity is never visible without its row.
+ * Once the transaction has committed, the rows are added to the {@link SubmissionSearchIndex} and
+ * the {@link SubmissionCounters}.
+ */
+@Component
+public class SubmissionRecorder {
+
+    private final SubmissionRepository repository;
+    private final SubmissionSearchIndex searchIndex;
+    private final SubmissionCounters counters;
+
+    public SubmissionRecorder(SubmissionRepository repository, SubmissionSearchIndex searchIndex,
+                              SubmissionCounters counters) {
+        this.repository = repository;
+        this.searchIndex = searchIndex;
+        this.counters = counters;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Contact contact) {
+        recordAll(List.of(Submission.of(contact)));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Employee employee) {
+        recordAll(List.of(Submission.of(employee)));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(SupportTicket ticket) {
+        recordAll(List.of(Submission.of(ticket)));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordContacts(List<Contact> contacts) {
+        recordAll(contacts.stream().map(Submission::of).toList());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordEmployees(List<Employee> employees) {
+        recordAll(employees.stream().map(Submission::of).toList());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordSupportTickets(List<SupportTicket> tickets) {
+        recordAll(tickets.stream().map(Submission::of).toList());
+    }
+
+    /**
+     * Insert rows for form entities that are already saved.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(List<Submission> submissions) {
+        List<Submission> saved = repository.saveAll(submissions);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                searchIndex.addAll(saved);
+                counters.addAll(saved);
+            }
+        });
+    }
+}
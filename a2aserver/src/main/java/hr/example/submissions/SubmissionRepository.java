@@ -0,0 +1,41 @@
+package hr.example.submissions;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface SubmissionRepository extends JpaRepository<Submission, Long>, JpaSpecificationExecutor<Submission> {
+
+    @Query("select s.sourceId from Submission s where s.formType = :formType and s.sourceId in :sourceIds")
+    List<Long> findSourceIds(String formType, Collection<Long> sourceIds);
+
+    @Query("select s.formType as formType, count(s) as count from Submission s group by s.formType")
+    List<FormTypeCount> countByFormType();
+
+    /**
+     * Submissions per form type and day since {@code from}, with days in time zone {@code zone}.
+     */
+    @Query(value = "select form_type as formType, created_on as createdOn, count(*) as count from ("
+            + "select form_type, cast(created_at at time zone :zone as date) as created_on from submission"
+            + " where created_at >= :from) s group by form_type, created_on", nativeQuery = true)
+    List<FormTypeDayCount> countByFormTypeAndDay(Instant from, String zone);
+
+    interface FormTypeCount {
+        String getFormType();
+
+        long getCount();
+    }
+
+    interface FormTypeDayCount {
+        String getFormType();
+
+        LocalDate getCreatedOn();
+
+        long getCount();
+    }
+}
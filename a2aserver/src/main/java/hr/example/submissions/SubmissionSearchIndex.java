@@ -0,0 +1,443 @@
+package hr.example.submissions;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index of the submissions list, for the search box of the submissions view.
+ *
+ * Every row of the {@code submission} table is a document with the terms (see {@link SearchTerms}) of its
+ * title and searchable text. The index is built from the table in the background after startup and then
+ * kept up to date by {@link SubmissionRecorder}, which adds new rows once their transaction has committed;
+ * rows are never changed or removed. Until it is built, {@link #isReady()} is false and searches fall back
+ * to the database.
+ *
+ * A query matches the documents that contain, for each of its terms, a term starting with it. Documents are
+ * ranked by the sum over the query terms of the best matching term's weight: its inverse document frequency,
+ * halved for a prefix match and doubled for a match in the title. Ties go to the document added last, which is
+ * the newest, as the index is built oldest first and new rows are added as they are created. Results are cached
+ * per filter until the next row is added, so paging through them does not search again.
+ */
+@Component
+public class SubmissionSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SubmissionSearchIndex.class);
+    private static final byte IN_TITLE = 1;
+    private static final byte IN_TEXT = 2;
+    private static final float TITLE_BOOST = 2f;
+    private static final float PREFIX_FACTOR = 0.5f;
+    private static final int BUILD_BATCH_SIZE = 1000;
+    private static final Sort BUILD_ORDER = Sort.by("createdAt", "id");
+
+    private final SubmissionRepository repository;
+    private final boolean enabled;
+    private final Timer searchTime;
+    private final Cache<SubmissionFilter, Hits> results = Caffeine.newBuilder()
+            .maximumSize(32)
+            .expireAfterAccess(Duration.ofMinutes(5))
+            .build();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Guarded by lock
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private final BitSet indexedRows = new BitSet();
+    private long[] rowIds = new long[1024];
+    private long[] sourceIds = new long[1024];
+    private long[] createdAt = new long[1024];
+    private byte[] formTypes = new byte[1024];
+    private int size;
+    private long version;
+    private volatile boolean ready;
+
+    public SubmissionSearchIndex(SubmissionRepository repository,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${submissions.search.enabled:true}") boolean enabled) {
+        this.repository = repository;
+        this.enabled = enabled;
+        this.searchTime = Timer.builder("submissions.search")
+                .description("Searches of the submissions index")
+                .register(meterRegistry);
+        Gauge.builder("submissions.search.documents", this, SubmissionSearchIndex::documents)
+                .description("Submissions in the search index")
+                .register(meterRegistry);
+        Gauge.builder("submissions.search.terms", this, SubmissionSearchIndex::termCount)
+                .description("Distinct terms in the search index")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (enabled) {
+            Thread.ofVirtual().name("submission-search-index").start(this::build);
+        }
+    }
+
+    /**
+     * Whether the index holds all submissions and can answer searches.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Index the rows of the submission table, oldest first.
+     */
+    void build() {
+        long start = System.nanoTime();
+        try {
+            Submission last = null;
+            while (true) {
+                List<Submission> batch = repository.findBy(after(last),
+                        query -> query.sortBy(BUILD_ORDER).limit(BUILD_BATCH_SIZE).all());
+                if (batch.isEmpty()) {
+                    break;
+                }
+                addAll(batch);
+                last = batch.getLast();
+            }
+            ready = true;
+            logger.info("Indexed {} submissions in {} ms", documents(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            logger.error("Building the submissions search index failed; searching the database instead", e);
+        }
+    }
+
+    private static Specification<Submission> after(@Nullable Submission last) {
+        if (last == null) {
+            return (root, query, cb) -> cb.conjunction();
+        }
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get("createdAt"), last.getCreatedAt()),
+                cb.and(cb.equal(root.get("createdAt"), last.getCreatedAt()),
+                        cb.greaterThan(root.get("id"), last.getId())));
+    }
+
+    /**
+     * Add committed rows. Rows that are already indexed are skipped.
+     */
+    public void addAll(Collection<Submission> submissions) {
+        if (!enabled || submissions.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (Submission submission : submissions) {
+                add(submission);
+            }
+            version++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(Submission submission) {
+        int row = Math.toIntExact(submission.getId());
+        if (indexedRows.get(row)) {
+            return;
+        }
+        indexedRows.set(row);
+
+        if (size == rowIds.length) {
+            int capacity = size * 2;
+            rowIds = Arrays.copyOf(rowIds, capacity);
+            sourceIds = Arrays.copyOf(sourceIds, capacity);
+            createdAt = Arrays.copyOf(createdAt, capacity);
+            formTypes = Arrays.copyOf(formTypes, capacity);
+        }
+        int doc = size++;
+        rowIds[doc] = submission.getId();
+        sourceIds[doc] = submission.getSourceId();
+        createdAt[doc] = submission.getCreatedAt().toEpochMilli();
+        formTypes[doc] = (byte) SubmissionDTO.FormType.valueOf(submission.getFormType()).ordinal();
+
+        Map<String, Byte> fields = new HashMap<>();
+        for (String term : SearchTerms.of(submission.getTitle())) {
+            fields.merge(term, IN_TITLE, (a, b) -> (byte) (a | b));
+        }
+        for (String term : SearchTerms.of(submission.getSearchText())) {
+            fields.merge(term, IN_TEXT, (a, b) -> (byte) (a | b));
+        }
+        fields.forEach((term, in) -> terms.computeIfAbsent(term, t -> new Postings()).add(doc, in));
+    }
+
+    /**
+     * The documents that match {@code filter}, best first. Empty if its search text has no terms.
+     */
+    public Hits search(SubmissionFilter filter) {
+        lock.readLock().lock();
+        try {
+            Hits cached = results.getIfPresent(filter);
+            if (cached != null && cached.version() == version) {
+                return cached;
+            }
+            long start = System.nanoTime();
+            Hits hits = new Hits(find(filter), version);
+            searchTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            results.put(filter, hits);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int[] find(SubmissionFilter filter) {
+        List<String> queryTerms = SearchTerms.of(filter.searchText()).stream().distinct().toList();
+        if (queryTerms.isEmpty()) {
+            return new int[0];
+        }
+
+        // Start with the query term that matches the fewest postings
+        List<QueryTerm> perTerm = new ArrayList<>(queryTerms.size());
+        for (String queryTerm : queryTerms) {
+            SortedMap<String, Postings> matching = terms.subMap(queryTerm, queryTerm + Character.MAX_VALUE);
+            perTerm.add(new QueryTerm(queryTerm, matching, postingCount(matching)));
+        }
+        perTerm.sort(Comparator.comparingLong(QueryTerm::postings));
+        Matches matches = matches(perTerm.getFirst());
+        for (int i = 1; i < perTerm.size() && matches.count() > 0; i++) {
+            matches = intersect(matches, perTerm.get(i));
+        }
+
+        // Form type and date range; then pack score and document into one long, so that one sort ranks them
+        int formType = filter.formType() == null || filter.formType().isEmpty()
+                ? -1 : SubmissionDTO.FormType.valueOf(filter.formType()).ordinal();
+        long from = filter.fromDate() == null ? Long.MIN_VALUE
+                : filter.fromDate().atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        long to = filter.toDate() == null ? Long.MAX_VALUE
+                : filter.toDate().plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        long[] ranked = new long[matches.count()];
+        int n = 0;
+        for (int i = 0; i < matches.count(); i++) {
+            int doc = matches.docs()[i];
+            if ((formType < 0 || formTypes[doc] == formType) && createdAt[doc] >= from && createdAt[doc] < to) {
+                ranked[n++] = (long) Float.floatToIntBits(matches.scores()[i]) << 32 | doc;
+            }
+        }
+        Arrays.sort(ranked, 0, n);
+        int[] hits = new int[n];
+        for (int i = 0; i < n; i++) {
+            hits[i] = (int) ranked[n - 1 - i];
+        }
+        return hits;
+    }
+
+    private static long postingCount(SortedMap<String, Postings> matching) {
+        long count = 0;
+        for (Postings postings : matching.values()) {
+            count += postings.size;
+        }
+        return count;
+    }
+
+    private float weight(String term, Postings postings, String queryTerm) {
+        float weight = (float) Math.log(1 + (double) size / postings.size);
+        return term.equals(queryTerm) ? weight : weight * PREFIX_FACTOR;
+    }
+
+    /**
+     * The documents with a term that starts with {@code queryTerm}, in document order, with the score of the best one.
+     */
+    private Matches matches(QueryTerm queryTerm) {
+        SortedMap<String, Postings> matching = queryTerm.matching();
+        long total = queryTerm.postings();
+        if (total > size / 16) {
+            // Many documents: collect the best score per document in an array over all of them
+            float[] best = new float[size];
+            for (Map.Entry<String, Postings> entry : matching.entrySet()) {
+                Postings postings = entry.getValue();
+                float weight = weight(entry.getKey(), postings, queryTerm.text());
+                for (int i = 0; i < postings.size; i++) {
+                    float score = postings.score(i, weight);
+                    if (score > best[postings.docs[i]]) {
+                        best[postings.docs[i]] = score;
+                    }
+                }
+            }
+            int[] docs = new int[(int) Math.min(total, size)];
+            float[] scores = new float[docs.length];
+            int count = 0;
+            for (int doc = 0; doc < size; doc++) {
+                if (best[doc] > 0) {
+                    docs[count] = doc;
+                    scores[count++] = best[doc];
+                }
+            }
+            return new Matches(docs, scores, count);
+        }
+
+        // Few documents: sort (document, score) pairs packed into longs; positive floats order like their bits,
+        // so the last pair of a document has its best score
+        long[] entries = new long[(int) total];
+        int n = 0;
+        for (Map.Entry<String, Postings> entry : matching.entrySet()) {
+            Postings postings = entry.getValue();
+            float weight = weight(entry.getKey(), postings, queryTerm.text());
+            for (int i = 0; i < postings.size; i++) {
+                entries[n++] = (long) postings.docs[i] << 32 | Float.floatToIntBits(postings.score(i, weight));
+            }
+        }
+        if (matching.size() > 1) {
+            Arrays.sort(entries);
+        }
+        int[] docs = new int[n];
+        float[] scores = new float[n];
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            int doc = (int) (entries[i] >>> 32);
+            if (i + 1 < n && (int) (entries[i + 1] >>> 32) == doc) {
+                continue;
+            }
+            docs[count] = doc;
+            scores[count++] = Float.intBitsToFloat((int) entries[i]);
+        }
+        return new Matches(docs, scores, count);
+    }
+
+    /**
+     * The documents of {@code candidates} that also have a term that starts with {@code queryTerm}, with the scores added.
+     */
+    private Matches intersect(Matches candidates, QueryTerm queryTerm) {
+        SortedMap<String, Postings> matching = queryTerm.matching();
+        int[] docs = new int[candidates.count()];
+        float[] scores = new float[candidates.count()];
+        int count = 0;
+        if ((long) candidates.count() * matching.size() * 20 < queryTerm.postings()) {
+            // Few candidates: look them up in the postings
+            for (int i = 0; i < candidates.count(); i++) {
+                int doc = candidates.docs()[i];
+                float best = 0;
+                for (Map.Entry<String, Postings> entry : matching.entrySet()) {
+                    Postings postings = entry.getValue();
+                    int at = Arrays.binarySearch(postings.docs, 0, postings.size, doc);
+                    if (at >= 0) {
+                        best = Math.max(best, postings.score(at, weight(entry.getKey(), postings, queryTerm.text())));
+                    }
+                }
+                if (best > 0) {
+                    docs[count] = doc;
+                    scores[count++] = candidates.scores()[i] + best;
+                }
+            }
+        } else {
+            Matches other = matches(queryTerm);
+            for (int i = 0, j = 0; i < candidates.count() && j < other.count(); ) {
+                if (candidates.docs()[i] < other.docs()[j]) {
+                    i++;
+                } else if (candidates.docs()[i] > other.docs()[j]) {
+                    j++;
+                } else {
+                    docs[count] = candidates.docs()[i];
+                    scores[count++] = candidates.scores()[i++] + other.scores()[j++];
+                }
+            }
+        }
+        return new Matches(docs, scores, count);
+    }
+
+    /**
+     * IDs of the submission rows of {@code hits} from {@code from} (inclusive) to {@code to} (exclusive).
+     */
+    public List<Long> rowIds(Hits hits, int from, int to) {
+        lock.readLock().lock();
+        try {
+            List<Long> ids = new ArrayList<>(Math.max(0, to - from));
+            for (int i = from; i < to; i++) {
+                ids.add(rowIds[hits.docs()[i]]);
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Position of the submission with {@code key} in {@code hits}, or -1.
+     */
+    public int position(Hits hits, SubmissionKey key) {
+        byte formType = (byte) SubmissionDTO.FormType.valueOf(key.formType()).ordinal();
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < hits.docs().length; i++) {
+                int doc = hits.docs()[i];
+                if (sourceIds[doc] == key.id() && formTypes[doc] == formType) {
+                    return i;
+                }
+            }
+            return -1;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int documents() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int termCount() {
+        lock.readLock().lock();
+        try {
+            return terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Result of a search: documents, best first, as of index {@code version}.
+     */
+    public record Hits(int[] docs, long version) {
+        public int size() {
+            return docs.length;
+        }
+    }
+
+    private record QueryTerm(String text, SortedMap<String, Postings> matching, long postings) {}
+
+    // The first count documents and their scores
+    private record Matches(int[] docs, float[] scores, int count) {}
+
+    /**
+     * Documents that contain a term, in document order, and where the term occurs in them.
+     */
+    private static final class Postings {
+        int[] docs = new int[2];
+        byte[] fields = new byte[2];
+        int size;
+
+        void add(int doc, byte in) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                fields = Arrays.copyOf(fields, size * 2);
+            }
+            docs[size] = doc;
+            fields[size++] = in;
+        }
+
+        float score(int i, float weight) {
+            return (fields[i] & IN_TITLE) != 0 ? weight * TITLE_BOOST : weight;
+        }
+    }
+}
@@ -6,98 +6,217 @@ import hr.example.employee.Employee;
 import hr.example.employee.EmployeeRepository;
 import hr.example.support.SupportTicket;
 import hr.example.support.SupportTicketRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
-import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 /**
  * Service that aggregates all form submissions from different sources.
+ *
+ * The list is read from the {@code submission} table (see {@link Submission}), which holds a row for every
+ * contact, employee and support ticket. Filtering, ordering and paging are done by the database with its
+ * indexes. Pages are addressed by the key of the row before them (see {@link SubmissionKey}).
+ * Rows of the list carry no details; those are loaded from the form's own table with {@link #findSubmission}.
+ *
+ * With search text the list is answered by the {@link SubmissionSearchIndex} instead and ordered by relevance;
+ * a key passed for paging is then looked up in the (cached) result. While the index is being built, the search
+ * text is matched with LIKE in the database.
  */
 @Service
 public class SubmissionsService {
 
+    // Newest first, then by form type, then newest ID first; matches the indexes of the submission table
+    private static final Sort LIST_ORDER = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.asc("formType"),
+            Sort.Order.desc("sourceId"));
+
+    private final SubmissionRepository submissionRepository;
+    private final SubmissionSearchIndex searchIndex;
+    private final SubmissionCounters counters;
     private final ContactRepository contactRepository;
     private final EmployeeRepository employeeRepository;
     private final SupportTicketRepository supportTicketRepository;
+    private final EntityManager entityManager;
+    private final int exportFetchSize;
 
-    public SubmissionsService(ContactRepository contactRepository,
+    public SubmissionsService(SubmissionRepository submissionRepository,
+                               SubmissionSearchIndex searchIndex,
+                               SubmissionCounters counters,
+                               ContactRepository contactRepository,
                                EmployeeRepository employeeRepository,
-                               SupportTicketRepository supportTicketRepository) {
+                               SupportTicketRepository supportTicketRepository,
+                               EntityManager entityManager,
+                               @Value("${submissions.export.fetch-size:500}") int exportFetchSize) {
+        this.submissionRepository = submissionRepository;
+        this.searchIndex = searchIndex;
+        this.counters = counters;
         this.contactRepository = contactRepository;
         this.employeeRepository = employeeRepository;
         this.supportTicketRepository = supportTicketRepository;
+        this.entityManager = entityManager;
+        this.exportFetchSize = exportFetchSize;
     }
 
+    /**
+     * A page of the submissions list, without details: the {@code limit} rows that come {@code offset} rows
+     * after the row with key {@code after}, or after the start of the list if it is null.
+     * Pass the key of the last row of the previous page and an offset of 0 to read the list page by page;
+     * an offset is only needed to jump ahead, and costs reading the keys of the skipped rows.
+     */
     @Transactional(readOnly = true)
-    public List<SubmissionDTO> getAllSubmissions(String formTypeFilter, LocalDate fromDate, LocalDate toDate, String searchText) {
-        List<SubmissionDTO> allSubmissions = new ArrayList<>();
-
-        // Get contacts
-        if (formTypeFilter == null || formTypeFilter.isEmpty() || "CONTACT".equals(formTypeFilter)) {
-            contactRepository.findAll().stream()
-                    .map(this::toSubmissionDTO)
-                    .forEach(allSubmissions::add);
+    public List<SubmissionDTO> findSubmissions(SubmissionFilter filter, @Nullable SubmissionKey after, int offset, int limit) {
+        if (usesSearchIndex(filter)) {
+            return search(filter, after, offset, limit);
+        }
+        SubmissionKey start = after;
+        if (offset > 0) {
+            List<KeyView> skipped = submissionRepository.findBy(specification(filter, after),
+                    query -> query.as(KeyView.class).sortBy(LIST_ORDER).limit(offset).all());
+            if (skipped.size() < offset) {
+                return List.of();
+            }
+            KeyView last = skipped.getLast();
+            start = new SubmissionKey(last.getCreatedAt(), last.getFormType(), last.getSourceId());
         }
 
-        // Get employees
-        if (formTypeFilter == null || formTypeFilter.isEmpty() || "EMPLOYEE".equals(formTypeFilter)) {
-            employeeRepository.findAll().stream()
-                    .map(this::toSubmissionDTO)
-                    .forEach(allSubmissions::add);
+        return submissionRepository.findBy(specification(filter, start),
+                        query -> query.sortBy(LIST_ORDER).limit(limit).all())
+                .stream()
+                .map(submission -> toSubmissionDTO(submission, Map.of()))
+                .toList();
+    }
+
+    /**
+     * Number of submissions that match {@code filter}.
+     */
+    @Transactional(readOnly = true)
+    public long countSubmissions(SubmissionFilter filter) {
+        if (usesSearchIndex(filter)) {
+            return searchIndex.search(filter).size();
         }
+        return submissionRepository.count(specification(filter, null));
+    }
 
-        // Get support tickets
-        if (formTypeFilter == null || formTypeFilter.isEmpty() || "SUPPORT".equals(formTypeFilter)) {
-            supportTicketRepository.findAll().stream()
-                    .map(this::toSubmissionDTO)
-                    .forEach(allSubmissions::add);
+    /**
+     * Pass every submission that matches {@code filter} to {@code consumer}, without details and in the order
+     * of the list. Rows are streamed from the database {@code fetch-size} at a time and detached once they are
+     * consumed, so memory use does not depend on the number of rows.
+     */
+    @Transactional(readOnly = true)
+    public void forEachSubmission(SubmissionFilter filter, Consumer<SubmissionDTO> consumer) {
+        if (usesSearchIndex(filter)) {
+            SubmissionSearchIndex.Hits hits = searchIndex.search(filter);
+            for (int from = 0; from < hits.size(); from += exportFetchSize) {
+                List<Long> ids = searchIndex.rowIds(hits, from, Math.min(from + exportFetchSize, hits.size()));
+                Map<Long, Submission> rows = new HashMap<>();
+                for (Submission submission : submissionRepository.findAllById(ids)) {
+                    rows.put(submission.getId(), submission);
+                }
+                for (Long id : ids) {
+                    Submission submission = rows.get(id);
+                    if (submission != null) {
+                        consumer.accept(toSubmissionDTO(submission, Map.of()));
+                    }
+                }
+                entityManager.clear();
+            }
+            return;
         }
 
-        // Apply date filters
-        Stream<SubmissionDTO> filtered = allSubmissions.stream();
-        
-        if (fromDate != null) {
-            Instant fromInstant = fromDate.atStartOfDay(ZoneId.systemDefault()).toInstant();
-            filtered = filtered.filter(s -> s.createdAt().isAfter(fromInstant) || s.createdAt().equals(fromInstant));
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Submission> query = cb.createQuery(Submission.class);
+        Root<Submission> root = query.from(Submission.class);
+        Predicate predicate = specification(filter, null).toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
         }
-        
-        if (toDate != null) {
-            Instant toInstant = toDate.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant();
-            filtered = filtered.filter(s -> s.createdAt().isBefore(toInstant));
+        query.orderBy(cb.desc(root.get("createdAt")), cb.asc(root.get("formType")), cb.desc(root.get("sourceId")));
+        try (Stream<Submission> rows = entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, exportFetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            rows.forEach(submission -> {
+                consumer.accept(toSubmissionDTO(submission, Map.of()));
+                entityManager.detach(submission);
+            });
         }
+    }
 
-        // Apply text search
-        if (searchText != null && !searchText.isBlank()) {
-            String search = searchText.toLowerCase();
-            filtered = filtered.filter(s -> 
-                    s.title().toLowerCase().contains(search) ||
-                    s.description().toLowerCase().contains(search) ||
-                    s.details().values().stream().anyMatch(v -> v.toLowerCase().contains(search))
-            );
-        }
+    private boolean usesSearchIndex(SubmissionFilter filter) {
+        return filter.hasSearchText() && searchIndex.isReady();
+    }
 
-        // Sort by creation date (newest first)
-        return filtered
-                .sorted(Comparator.comparing(SubmissionDTO::createdAt).reversed())
-                .collect(Collectors.toList());
+    private List<SubmissionDTO> search(SubmissionFilter filter, @Nullable SubmissionKey after, int offset, int limit) {
+        SubmissionSearchIndex.Hits hits = searchIndex.search(filter);
+        int from = offset;
+        if (after != null) {
+            int position = searchIndex.position(hits, after);
+            if (position < 0) {
+                return List.of();
+            }
+            from += position + 1;
+        }
+        if (from >= hits.size()) {
+            return List.of();
+        }
+        List<Long> ids = searchIndex.rowIds(hits, from, Math.min(from + limit, hits.size()));
+        Map<Long, Submission> rows = new HashMap<>();
+        for (Submission submission : submissionRepository.findAllById(ids)) {
+            rows.put(submission.getId(), submission);
+        }
+        return ids.stream()
+                .map(rows::get)
+                .filter(Objects::nonNull)
+                .map(submission -> toSubmissionDTO(submission, Map.of()))
+                .toList();
     }
 
+    /**
+     * A single submission with its details.
+     */
     @Transactional(readOnly = true)
-    public long countByFormType(String formType) {
+    public Optional<SubmissionDTO> findSubmission(String formType, Long id) {
         return switch (formType) {
-            case "CONTACT" -> contactRepository.count();
-            case "EMPLOYEE" -> employeeRepository.count();
-            case "SUPPORT" -> supportTicketRepository.count();
-            default -> 0;
+            case "CONTACT" -> contactRepository.findById(id).map(this::toSubmissionDTO);
+            case "EMPLOYEE" -> employeeRepository.findById(id).map(this::toSubmissionDTO);
+            case "SUPPORT" -> supportTicketRepository.findById(id).map(this::toSubmissionDTO);
+            default -> Optional.empty();
         };
     }
 
+    /**
+     * Number of submissions of {@code formType}, from the in-memory {@link SubmissionCounters}.
+     */
+    public long countByFormType(String formType) {
+        return counters.total(formType);
+    }
+
+    private SubmissionDTO toSubmissionDTO(Submission submission, Map<String, String> details) {
+        return new SubmissionDTO(
+                submission.getSourceId(),
+                submission.getFormType(),
+                submission.getTitle(),
+                submission.getDescription(),
+                submission.getCreatedAt(),
+                details
+        );
+    }
+
     private SubmissionDTO toSubmissionDTO(Contact contact) {
         Map<String, String> details = new LinkedHashMap<>();
         details.put("First Name", contact.getFirstName());
@@ -106,14 +225,7 @@ public class SubmissionsService {
         if (contact.getPhone() != null) details.put("Phone", contact.getPhone());
         if (contact.getCompany() != null) details.put("Company", contact.getCompany());
 
-        return new SubmissionDTO(
-                contact.getId(),
-                "CONTACT",
-                contact.getFirstName() + " " + contact.getLastName(),
-                contact.getMessage() != null ? contact.getMessage() : "No message",
-                contact.getCreatedAt(),
-                details
-        );
+        return toSubmissionDTO(Submission.of(contact), details);
     }
 
     private SubmissionDTO toSubmissionDTO(Employee employee) {
@@ -126,14 +238,7 @@ public class SubmissionsService {
         if (employee.getHireDate() != null) details.put("Hire Date", employee.getHireDate().toString());
         if (employee.getSalary() != null) details.put("Salary", "$" + String.format("%.2f", employee.getSalary()));
 
-        return new SubmissionDTO(
-                employee.getId(),
-                "EMPLOYEE",
-                employee.getFirstName() + " " + employee.getLastName(),
-                employee.getPosition() != null ? employee.getPosition() + " in " + employee.getDepartment() : "New Employee",
-                employee.getCreatedAt(),
-                details
-        );
+        return toSubmissionDTO(Submission.of(employee), details);
     }
 
     private SubmissionDTO toSubmissionDTO(SupportTicket ticket) {
@@ -143,14 +248,66 @@ public class SubmissionsService {
         if (ticket.getPriority() != null) details.put("Priority", ticket.getPriority().name());
         if (ticket.getCategory() != null) details.put("Category", ticket.getCategory().name().replace("_", " "));
 
-        return new SubmissionDTO(
-                ticket.getId(),
-                "SUPPORT",
-                ticket.getSubject(),
-                ticket.getDescription(),
-                ticket.getCreatedAt(),
-                details
-        );
+        return toSubmissionDTO(Submission.of(ticket), details);
+    }
+
+    private static Specification<Submission> specification(SubmissionFilter filter, @Nullable SubmissionKey after) {
+        List<Specification<Submission>> specifications = new ArrayList<>();
+        if (filter.formType() != null && !filter.formType().isEmpty()) {
+            specifications.add((root, query, cb) -> cb.equal(root.get("formType"), filter.formType()));
+        }
+        if (filter.fromDate() != null) {
+            Instant from = filter.fromDate().atStartOfDay(ZoneId.systemDefault()).toInstant();
+            specifications.add((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), from));
+        }
+        if (filter.toDate() != null) {
+            Instant to = filter.toDate().plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant();
+            specifications.add((root, query, cb) -> cb.lessThan(root.get("createdAt"), to));
+        }
+        if (filter.hasSearchText()) {
+            String pattern = likePattern(filter.searchText().strip().toLowerCase(Locale.ROOT));
+            specifications.add((root, query, cb) -> cb.like(root.get("searchText"), pattern, '\\'));
+        }
+        if (after != null) {
+            specifications.add(after(after));
+        }
+        return Specification.allOf(specifications);
+    }
+
+    /**
+     * Rows that come after {@code key} in the list order.
+     */
+    private static Specification<Submission> after(SubmissionKey key) {
+        return (root, query, cb) -> {
+            Expression<Instant> createdAt = root.get("createdAt");
+            Expression<String> formType = root.get("formType");
+            return cb.or(
+                    cb.lessThan(createdAt, key.createdAt()),
+                    cb.and(cb.equal(createdAt, key.createdAt()), cb.or(
+                            cb.greaterThan(formType, key.formType()),
+                            cb.and(cb.equal(formType, key.formType()), cb.lessThan(root.get("sourceId"), key.id())))));
+        };
     }
-}
 
+    /**
+     * {@code '%text%'} for a LIKE with backslash as the escape character.
+     */
+    private static String likePattern(String text) {
+        String escaped = text
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    /**
+     * Row of the list read when skipping rows; only the key columns are selected.
+     */
+    private interface KeyView {
+        Instant getCreatedAt();
+
+        String getFormType();
+
+        Long getSourceId();
+    }
+}
@@ -1,5 +1,8 @@
 package hr.example.submissions.ui;
 
+import com.vaadin.flow.component.AttachEvent;
+import com.vaadin.flow.component.DetachEvent;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.combobox.ComboBox;
@@ -13,19 +16,34 @@ import com.vaadin.flow.component.orderedlayout.FlexComponent;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.data.value.ValueChangeMode;
 import com.vaadin.flow.data.renderer.ComponentRenderer;
+import com.vaadin.flow.dom.Element;
 import com.vaadin.flow.router.Menu;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.theme.lumo.LumoUtility;
 import hr.example.base.ui.component.ViewToolbar;
+import hr.example.submissions.SearchTerms;
+import hr.example.submissions.SubmissionExportController;
+import hr.example.submissions.SubmissionCounters;
 import hr.example.submissions.SubmissionDTO;
+import hr.example.submissions.SubmissionFilter;
+import hr.example.submissions.SubmissionKey;
 import hr.example.submissions.SubmissionsService;
+import org.springframework.web.util.UriComponentsBuilder;
 
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.format.FormatStyle;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Route("submissions")
 @PageTitle("Form Submissions")
@@ -33,15 +51,30 @@ import java.util.Map;
 public class SubmissionsView extends Main {
 
     private final SubmissionsService submissionsService;
+    private final SubmissionCounters submissionCounters;
     private final Grid<SubmissionDTO> grid;
     
     private final ComboBox<String> formTypeFilter;
     private final DatePicker fromDate;
     private final DatePicker toDate;
     private final TextField searchField;
+    private final Anchor exportCsv;
+    private final Anchor exportNdjson;
 
-    public SubmissionsView(SubmissionsService submissionsService) {
+    private SubmissionFilter filter = SubmissionFilter.NONE;
+    // Terms of the search text, highlighted in the title and description
+    private List<String> searchTerms = List.of();
+    // Key of the row before each offset the grid has fetched, so the next page continues from it
+    private final NavigableMap<Integer, SubmissionKey> cursors = new TreeMap<>();
+
+    // Stats cards by form type, updated from the counters while the view is attached
+    private final Map<String, Span> countSpans = new HashMap<>();
+    private final Map<String, Span> todaySpans = new HashMap<>();
+    private Consumer<SubmissionCounters.Snapshot> countersListener;
+
+    public SubmissionsView(SubmissionsService submissionsService, SubmissionCounters submissionCounters) {
         this.submissionsService = submissionsService;
+        this.submissionCounters = submissionCounters;
 
         // Filters
         formTypeFilter = new ComboBox<>("Form Type");
@@ -68,6 +101,7 @@ public class SubmissionsView extends Main {
         searchField.setPlaceholder("Search...");
         searchField.setPrefixComponent(VaadinIcon.SEARCH.create());
         searchField.setClearButtonVisible(true);
+        searchField.setValueChangeMode(ValueChangeMode.LAZY);
         searchField.addValueChangeListener(e -> refreshGrid());
 
         Button clearFilters = new Button("Clear", VaadinIcon.CLOSE_SMALL.create(), e -> {
@@ -78,7 +112,12 @@ public class SubmissionsView extends Main {
         });
         clearFilters.addThemeVariants(ButtonVariant.LUMO_TERTIARY);
 
-        HorizontalLayout filters = new HorizontalLayout(formTypeFilter, fromDate, toDate, searchField, clearFilters);
+        // Downloads of the filtered list, streamed by SubmissionExportController
+        exportCsv = createExportLink("CSV");
+        exportNdjson = createExportLink("NDJSON");
+
+        HorizontalLayout filters = new HorizontalLayout(formTypeFilter, fromDate, toDate, searchField, clearFilters,
+                exportCsv, exportNdjson);
         filters.setAlignItems(FlexComponent.Alignment.END);
         filters.getStyle().set("flex-wrap", "wrap");
         filters.addClassName(LumoUtility.Gap.MEDIUM);
@@ -97,14 +136,14 @@ public class SubmissionsView extends Main {
             return badge;
         })).setHeader("Type").setWidth("130px").setFlexGrow(0);
 
-        grid.addColumn(SubmissionDTO::title)
+        grid.addColumn(new ComponentRenderer<>(submission -> highlighted(submission.title())))
                 .setHeader("Title")
                 .setFlexGrow(1);
 
-        grid.addColumn(submission -> {
+        grid.addColumn(new ComponentRenderer<>(submission -> {
             String desc = submission.description();
-            return desc.length() > 60 ? desc.substring(0, 60) + "..." : desc;
-        }).setHeader("Description").setFlexGrow(2);
+            return highlighted(desc.length() > 60 ? desc.substring(0, 60) + "..." : desc);
+        })).setHeader("Description").setFlexGrow(2);
 
         grid.addColumn(submission -> formatter.format(submission.createdAt()))
                 .setHeader("Submitted")
@@ -119,6 +158,8 @@ public class SubmissionsView extends Main {
         })).setHeader("").setWidth("80px").setFlexGrow(0);
 
         grid.setSizeFull();
+        grid.setItems(query -> fetch(query.getOffset(), query.getLimit()),
+                query -> (int) submissionsService.countSubmissions(filter));
 
         // Stats cards
         HorizontalLayout statsLayout = createStatsLayout();
@@ -144,14 +185,15 @@ public class SubmissionsView extends Main {
         stats.addClassName(LumoUtility.Gap.MEDIUM);
         stats.getStyle().set("flex-wrap", "wrap");
 
-        stats.add(createStatCard("Contact Forms", submissionsService.countByFormType("CONTACT"), VaadinIcon.ENVELOPE, "primary"));
-        stats.add(createStatCard("Employees", submissionsService.countByFormType("EMPLOYEE"), VaadinIcon.USER, "success"));
-        stats.add(createStatCard("Support Tickets", submissionsService.countByFormType("SUPPORT"), VaadinIcon.TICKET, "error"));
+        stats.add(createStatCard("CONTACT", "Contact Forms", VaadinIcon.ENVELOPE, "primary"));
+        stats.add(createStatCard("EMPLOYEE", "Employees", VaadinIcon.USER, "success"));
+        stats.add(createStatCard("SUPPORT", "Support Tickets", VaadinIcon.TICKET, "error"));
+        showCounts(submissionCounters.snapshot());
 
         return stats;
     }
 
-    private Div createStatCard(String title, long count, VaadinIcon icon, String theme) {
+    private Div createStatCard(String formType, String title, VaadinIcon icon, String theme) {
         Div card = new Div();
         card.addClassNames(LumoUtility.Padding.MEDIUM, LumoUtility.BorderRadius.LARGE);
         card.getStyle()
@@ -164,18 +206,23 @@ public class SubmissionsView extends Main {
         iconElement.getStyle().set("color", "var(--lumo-" + theme + "-color)");
         iconElement.setSize("24px");
 
-        Span countSpan = new Span(String.valueOf(count));
+        Span countSpan = new Span();
+        countSpans.put(formType, countSpan);
         countSpan.addClassNames(LumoUtility.FontSize.XXLARGE, LumoUtility.FontWeight.BOLD);
         countSpan.getStyle().set("color", "var(--lumo-" + theme + "-color)");
 
         Span titleSpan = new Span(title);
         titleSpan.addClassNames(LumoUtility.TextColor.SECONDARY, LumoUtility.FontSize.SMALL);
 
+        Span todaySpan = new Span();
+        todaySpan.addClassNames(LumoUtility.TextColor.SECONDARY, LumoUtility.FontSize.XSMALL);
+        todaySpans.put(formType, todaySpan);
+
         HorizontalLayout header = new HorizontalLayout(iconElement, countSpan);
         header.setAlignItems(FlexComponent.Alignment.CENTER);
         header.addClassName(LumoUtility.Gap.SMALL);
 
-        VerticalLayout content = new VerticalLayout(header, titleSpan);
+        VerticalLayout content = new VerticalLayout(header, titleSpan, todaySpan);
         content.setPadding(false);
         content.setSpacing(false);
 
@@ -183,13 +230,96 @@ public class SubmissionsView extends Main {
         return card;
     }
 
+    private void showCounts(SubmissionCounters.Snapshot snapshot) {
+        countSpans.forEach((formType, span) -> span.setText(String.valueOf(snapshot.totals().get(formType))));
+        todaySpans.forEach((formType, span) -> span.setText("+" + snapshot.today().get(formType) + " today"));
+    }
+
+    @Override
+    protected void onAttach(AttachEvent attachEvent) {
+        super.onAttach(attachEvent);
+        UI ui = attachEvent.getUI();
+        countersListener = snapshot -> ui.access(() -> showCounts(snapshot));
+        submissionCounters.subscribe(countersListener);
+        // Counts may have changed since the view was built
+        showCounts(submissionCounters.snapshot());
+    }
+
+    @Override
+    protected void onDetach(DetachEvent detachEvent) {
+        submissionCounters.unsubscribe(countersListener);
+        super.onDetach(detachEvent);
+    }
+
     private void refreshGrid() {
-        grid.setItems(submissionsService.getAllSubmissions(
+        filter = new SubmissionFilter(
                 formTypeFilter.getValue(),
                 fromDate.getValue(),
                 toDate.getValue(),
                 searchField.getValue()
-        ));
+        );
+        searchTerms = filter.hasSearchText() ? SearchTerms.of(filter.searchText()).stream().distinct().toList() : List.of();
+        cursors.clear();
+        grid.getDataProvider().refreshAll();
+        exportCsv.setHref(exportUrl("csv"));
+        exportNdjson.setHref(exportUrl("ndjson"));
+    }
+
+    private Anchor createExportLink(String label) {
+        Button button = new Button(label, VaadinIcon.DOWNLOAD.create());
+        button.addThemeVariants(ButtonVariant.LUMO_TERTIARY);
+        Anchor link = new Anchor();
+        link.add(button);
+        link.getElement().setAttribute("download", true);
+        return link;
+    }
+
+    /**
+     * Export of the rows matching the current filter, relative to the application's base URL.
+     */
+    private String exportUrl(String format) {
+        return UriComponentsBuilder.fromPath(SubmissionExportController.PATH.substring(1))
+                .queryParam("format", format)
+                .queryParamIfPresent("formType", Optional.ofNullable(filter.formType()).filter(type -> !type.isEmpty()))
+                .queryParamIfPresent("from", Optional.ofNullable(filter.fromDate()))
+                .queryParamIfPresent("to", Optional.ofNullable(filter.toDate()))
+                .queryParamIfPresent("search", Optional.ofNullable(filter.searchText()).filter(text -> !text.isBlank()))
+                .encode()
+                .toUriString();
+    }
+
+    /**
+     * {@code text} with the parts that match the search text marked.
+     */
+    private Span highlighted(String text) {
+        Span span = new Span();
+        int last = 0;
+        for (SearchTerms.Match match : SearchTerms.matches(text, searchTerms)) {
+            if (match.start() > last) {
+                span.getElement().appendChild(Element.createText(text.substring(last, match.start())));
+            }
+            span.getElement().appendChild(new Element("mark").setText(text.substring(match.start(), match.end())));
+            last = match.end();
+        }
+        if (last < text.length()) {
+            span.getElement().appendChild(Element.createText(text.substring(last)));
+        }
+        return span;
+    }
+
+    /**
+     * Rows for the grid's lazy loading. The grid asks by offset; the page is read from the nearest
+     * known row before it, which is the previous page when scrolling.
+     */
+    private Stream<SubmissionDTO> fetch(int offset, int limit) {
+        Map.Entry<Integer, SubmissionKey> cursor = cursors.floorEntry(offset);
+        List<SubmissionDTO> page = cursor != null
+                ? submissionsService.findSubmissions(filter, cursor.getValue(), offset - cursor.getKey(), limit)
+                : submissionsService.findSubmissions(filter, null, offset, limit);
+        if (!page.isEmpty()) {
+            cursors.put(offset + page.size(), SubmissionKey.of(page.getLast()));
+        }
+        return page.stream();
     }
 
     private String getFormTypeLabel(String formType) {
@@ -210,7 +340,10 @@ public class SubmissionsView extends Main {
         };
     }
 
-    private void showDetailsDialog(SubmissionDTO submission) {
+    private void showDetailsDialog(SubmissionDTO row) {
+        // The grid's rows come without details
+        SubmissionDTO submission = submissionsService.findSubmission(row.formType(), row.id()).orElse(row);
+
         Dialog dialog = new Dialog();
         dialog.setHeaderTitle(submission.title());
         dialog.setWidth("500px");
@@ -6,7 +6,7 @@ import org.jspecify.annotations.Nullable;
 import java.time.Instant;
 
 @Entity
-@Table(name = "support_ticket")
+@Table(name = "support_ticket", indexes = @Index(name = "idx_support_ticket_created_at", columnList = "created_at, ticket_id"))
 public class SupportTicket {
 
     public enum Priority {
@@ -18,7 +18,8 @@ public class SupportTicket {
     }
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "support_ticket_seq")
+    @SequenceGenerator(name = "support_ticket_seq", sequenceName = "SupportTicket_SEQ", allocationSize = 50)
     @Column(name = "ticket_id")
     private Long id;
 
@@ -1,17 +1,22 @@
 package hr.example.support;
 
+import hr.example.submissions.SubmissionRecorder;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
 public class SupportTicketService {
 
     private final SupportTicketRepository ticketRepository;
+    private final SubmissionRecorder submissionRecorder;
 
-    public SupportTicketService(SupportTicketRepository ticketRepository) {
+    public SupportTicketService(SupportTicketRepository ticketRepository, SubmissionRecorder submissionRecorder) {
         this.ticketRepository = ticketRepository;
+        this.submissionRecorder = submissionRecorder;
     }
 
     @Transactional
@@ -21,7 +26,19 @@ public class SupportTicketService {
         SupportTicket ticket = new SupportTicket(subject, description, reporterName, reporterEmail);
         ticket.setPriority(priority);
         ticket.setCategory(category);
-        return ticketRepository.save(ticket);
+        SupportTicket saved = ticketRepository.save(ticket);
+        submissionRecorder.record(saved);
+        return saved;
+    }
+
+    /**
+     * Persist new support tickets in a single transaction. Inserts are sent to the database in JDBC batches.
+     */
+    @Transactional
+    public List<SupportTicket> createTickets(List<SupportTicket> tickets) {
+        List<SupportTicket> saved = ticketRepository.saveAll(tickets);
+        submissionRecorder.recordSupportTickets(saved);
+        return saved;
     }
 
     @Transactional(readOnly = true)
@@ -0,0 +1,133 @@
+package hr.example.a2a;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import hr.example.a2a.model.A2ATask;
+import hr.example.a2a.push.PushDestinations;
+import hr.example.a2a.skill.SkillRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class A2AControllerTest {
+
+    private final A2AService a2aService = mock(A2AService.class);
+    private final A2ATask task = new A2ATask();
+    private A2ARequestExecutor requestExecutor;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        requestExecutor = new A2ARequestExecutor(meterRegistry);
+        A2ARateLimiter rateLimiter = new A2ARateLimiter(new SkillRegistry(List.of()), new MockEnvironment(), meterRegistry,
+                true, List.of(), 10, Duration.ofMinutes(1), 120, Duration.ofMinutes(1));
+        A2AController controller = new A2AController(a2aService, mock(AgentCardCache.class), rateLimiter,
+                new PushDestinations(List.of()), requestExecutor, objectMapper,
+                meterRegistry, false, 5, Duration.ofMinutes(5));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+        when(a2aService.getTask(task.getId())).thenReturn(task);
+    }
+
+    @AfterEach
+    void tearDown() {
+        requestExecutor.shutdown();
+    }
+
+    @Test
+    void malformedJsonIsParseError() throws Exception {
+        post("{\"jsonrpc\":\"2.0\",\"method\":")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").doesNotExist())
+                .andExpect(jsonPath("$.error.code").value(-32700));
+    }
+
+    @Test
+    void malformedBatchIsParseError() throws Exception {
+        post("[{\"jsonrpc\":\"2.0\",\"method\":\"tasks/get\",\"id\":\"1\"},")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.error.code").value(-32700));
+    }
+
+    @Test
+    void wellFormedNonRequestIsInvalidRequest() throws Exception {
+        post("\"tasks/get\"")
+                .andExpect(jsonPath("$.error.code").value(-32600));
+    }
+
+    @Test
+    void requestWithoutMethodIsInvalid() throws Exception {
+        post("{\"jsonrpc\":\"2.0\",\"id\":\"1\"}")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value("1"))
+                .andExpect(jsonPath("$.error.code").value(-32600));
+    }
+
+    @Test
+    void batchIsAnsweredInRequestOrderWithoutNotifications() throws Exception {
+        post("[" + get("\"a\"", task.getId()) + ","
+                + get(null, task.getId()) + ","
+                + get("\"b\"", "missing") + ","
+                + "42,"
+                + "{\"jsonrpc\":\"2.0\",\"id\":\"c\",\"params\":{}}]")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[0].id").value("a"))
+                .andExpect(jsonPath("$[0].result.id").value(task.getId()))
+                .andExpect(jsonPath("$[1].id").value("b"))
+                .andExpect(jsonPath("$[1].error.code").value(-32001))
+                .andExpect(jsonPath("$[2].error.code").value(-32600))
+                .andExpect(jsonPath("$[3].id").value("c"))
+                .andExpect(jsonPath("$[3].error.code").value(-32600));
+    }
+
+    @Test
+    void batchOfNotificationsOnlyHasNoContent() throws Exception {
+        post("[" + get(null, task.getId()) + "," + get(null, "missing") + "]")
+                .andExpect(status().isNoContent())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void emptyAndOversizedBatchesAreInvalid() throws Exception {
+        post("[]").andExpect(jsonPath("$.error.code").value(-32600));
+        String entry = get("\"1\"", task.getId());
+        post("[" + String.join(",", entry, entry, entry, entry, entry, entry) + "]")
+                .andExpect(jsonPath("$.error.code").value(-32600));
+    }
+
+    private static String get(String id, String taskId) {
+        return "{\"jsonrpc\":\"2.0\",\"method\":\"tasks/get\"" + (id != null ? ",\"id\":" + id : "")
+                + ",\"params\":{\"id\":\"" + taskId + "\"}}";
+    }
+
+    /**
+     * POST to /a2a and return the final response, after the async dispatch if the request was answered asynchronously.
+     */
+    private ResultActions post(String body) throws Exception {
+        ResultActions actions = mockMvc.perform(MockMvcRequestBuilders.post("/a2a")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body));
+        MvcResult result = actions.andReturn();
+        return result.getRequest().isAsyncStarted() ? mockMvc.perform(asyncDispatch(result)) : actions;
+    }
+}
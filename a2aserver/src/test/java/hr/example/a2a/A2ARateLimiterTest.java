@@ -0,0 +1,130 @@
+package hr.example.a2a;
+
+import hr.example.a2a.skill.SkillContext;
+import hr.example.a2a.skill.SkillHandler;
+import hr.example.a2a.skill.SkillRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.core.convert.support.ConfigurableConversionService;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class A2ARateLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SkillRegistry skills = new SkillRegistry(List.of(
+            new TestSkill("ask", true), new TestSkill("submit", false), new TestSkill("export", false)));
+
+    @Test
+    void emptyBucketReportsWaitUntilNextToken() {
+        // 2 tokens, one back every 500ms
+        A2ARateLimiter limiter = limiter(new MockEnvironment(), 2, Duration.ofSeconds(1));
+
+        assertThat(limiter.tryAcquire("addr:a", "ask")).isNull();
+        assertThat(limiter.tryAcquire("addr:a", "ask")).isNull();
+        Duration wait = limiter.tryAcquire("addr:a", "ask");
+
+        assertThat(wait).isPositive().isLessThanOrEqualTo(Duration.ofMillis(500));
+        assertThat(meterRegistry.get("a2a.rate-limit.rejections").tag("budget", "llm").tag("skill", "ask")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void bucketRefillsOverTime() throws InterruptedException {
+        // 2 tokens, one back every 100ms
+        A2ARateLimiter limiter = limiter(new MockEnvironment(), 2, Duration.ofMillis(200));
+        limiter.tryAcquire("addr:a", "ask");
+        limiter.tryAcquire("addr:a", "ask");
+        Duration wait = limiter.tryAcquire("addr:a", "ask");
+        assertThat(wait).isNotNull();
+
+        Thread.sleep(wait.toMillis() + 20);
+
+        assertThat(limiter.tryAcquire("addr:a", "ask")).isNull();
+    }
+
+    @Test
+    void callersAndBudgetsHaveSeparateBuckets() {
+        A2ARateLimiter limiter = limiter(new MockEnvironment(), 1, Duration.ofMinutes(1));
+
+        assertThat(limiter.tryAcquire("addr:a", "ask")).isNull();
+        assertThat(limiter.tryAcquire("addr:a", "ask")).isNotNull();
+        // Another caller, and the deterministic budget of the same caller, are unaffected
+        assertThat(limiter.tryAcquire("addr:b", "ask")).isNull();
+        assertThat(limiter.tryAcquire("addr:a", "submit")).isNull();
+        // Unknown skills count against the deterministic budget
+        assertThat(limiter.tryAcquire("addr:c", "unknown")).isNull();
+        assertThat(limiter.tryAcquire("addr:c", "submit")).isNotNull();
+    }
+
+    @Test
+    void skillWithOwnLimitIsCountedOnlyAgainstIt() {
+        MockEnvironment environment = new MockEnvironment();
+        // Parses "1m" like the application's environment
+        environment.setConversionService((ConfigurableConversionService) ApplicationConversionService.getSharedInstance());
+        environment.withProperty("a2a.rate-limit.skills.export.capacity", "1")
+                .withProperty("a2a.rate-limit.skills.export.period", "1m");
+        A2ARateLimiter limiter = limiter(environment, 100, Duration.ofMinutes(1));
+
+        assertThat(limiter.tryAcquire("addr:a", "export")).isNull();
+        assertThat(limiter.tryAcquire("addr:a", "export")).isNotNull();
+        assertThat(limiter.tryAcquire("addr:a", "submit")).isNull();
+    }
+
+    @Test
+    void onlyConfiguredApiKeysIdentifyCallers() {
+        A2ARateLimiter limiter = new A2ARateLimiter(skills, new MockEnvironment(), meterRegistry, true,
+                List.of("known"), 1, Duration.ofMinutes(1), 1, Duration.ofMinutes(1));
+
+        assertThat(limiter.callerOf("known", "10.0.0.1")).isEqualTo("key:known");
+        assertThat(limiter.callerOf("made-up", "10.0.0.1")).isEqualTo("addr:10.0.0.1");
+        assertThat(limiter.callerOf(null, "10.0.0.1")).isEqualTo("addr:10.0.0.1");
+    }
+
+    /**
+     * Limiter with the same capacity and period for the llm and deterministic budgets.
+     */
+    private A2ARateLimiter limiter(MockEnvironment environment, int capacity, Duration period) {
+        return new A2ARateLimiter(skills, environment, meterRegistry, true, List.of(), capacity, period, capacity, period);
+    }
+
+    private record TestSkill(String id, boolean usesModel) implements SkillHandler<TestSkill.Input, TestSkill.Input> {
+
+        record Input(String value) {}
+
+        @Override
+        public String name() {
+            return id;
+        }
+
+        @Override
+        public String description() {
+            return id;
+        }
+
+        @Override
+        public List<String> tags() {
+            return List.of();
+        }
+
+        @Override
+        public Class<Input> inputType() {
+            return Input.class;
+        }
+
+        @Override
+        public Class<Input> outputType() {
+            return Input.class;
+        }
+
+        @Override
+        public Input execute(Input input, SkillContext context) {
+            return input;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package hr.example.a2a.model;
+
+import hr.example.a2a.model.A2ATask.Status;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class A2ATaskTest {
+
+    @Test
+    void recordsEveryTransitionInHistory() {
+        A2ATask task = new A2ATask();
+
+        assertThat(task.start()).isTrue();
+        assertThat(task.finish(Status.COMPLETED, A2ATask.A2AMessage.agentMessage("done"), null)).isTrue();
+
+        assertThat(task.getHistory()).extracting(A2ATask.Transition::status)
+                .containsExactly(Status.SUBMITTED, Status.WORKING, Status.COMPLETED);
+        assertThat(task.getResult().parts().getFirst().text()).isEqualTo("done");
+    }
+
+    @Test
+    void terminalStatusIsFinal() {
+        A2ATask task = new A2ATask();
+        task.finish(Status.CANCELED, null, null);
+
+        assertThat(task.start()).isFalse();
+        assertThat(task.finish(Status.COMPLETED, A2ATask.A2AMessage.agentMessage("late"), null)).isFalse();
+        assertThat(task.requeue()).isFalse();
+
+        assertThat(task.getStatus()).isEqualTo(Status.CANCELED);
+        assertThat(task.getResult()).isNull();
+        assertThat(task.getHistory()).extracting(A2ATask.Transition::status)
+                .containsExactly(Status.SUBMITTED, Status.CANCELED);
+    }
+
+    @Test
+    void startOnlyFromSubmitted() {
+        A2ATask task = new A2ATask();
+
+        assertThat(task.start()).isTrue();
+        assertThat(task.start()).isFalse();
+        assertThat(task.getHistory()).hasSize(2);
+    }
+
+    @Test
+    void finishRequiresTerminalStatus() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new A2ATask().finish(Status.WORKING, null, null));
+    }
+
+    @Test
+    void exactlyOneConcurrentFinishWins() throws Exception {
+        List<Status> outcomes = List.of(Status.COMPLETED, Status.FAILED, Status.CANCELED);
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            for (int i = 0; i < 2_000; i++) {
+                A2ATask task = new A2ATask();
+                CyclicBarrier barrier = new CyclicBarrier(4);
+                AtomicInteger finished = new AtomicInteger();
+                List<CompletableFuture<Void>> futures = new ArrayList<>();
+                futures.add(CompletableFuture.runAsync(() -> {
+                    await(barrier);
+                    task.start();
+                }, executor));
+                for (Status outcome : outcomes) {
+                    futures.add(CompletableFuture.runAsync(() -> {
+                        await(barrier);
+                        if (task.finish(outcome, A2ATask.A2AMessage.agentMessage(outcome.name()), null)) {
+                            finished.incrementAndGet();
+                        }
+                    }, executor));
+                }
+                CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+                A2ATask.State state = task.snapshot();
+                assertThat(finished.get()).isEqualTo(1);
+                assertThat(state.status().isTerminal()).isTrue();
+                // The result belongs to the finish that won, and nothing follows the terminal entry
+                assertThat(state.result().parts().getFirst().text()).isEqualTo(state.status().name());
+                assertThat(state.history().getLast().status()).isEqualTo(state.status());
+                assertThat(state.history()).filteredOn(transition -> transition.status().isTerminal()).hasSize(1);
+            }
+        }
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package hr.example.a2a.push;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class PushDestinationsTest {
+
+    private final PushDestinations anyPublicHost = new PushDestinations(List.of());
+
+    @Test
+    void refusesLocalAndPrivateAddresses() {
+        for (String url : List.of(
+                "http://localhost:8080/a2a/push-receiver",
+                "http://127.0.0.1/",
+                "http://0.0.0.0/",
+                "http://10.1.2.3/",
+                "http://172.16.0.1/",
+                "http://192.168.1.1/",
+                "http://100.64.0.1/",
+                "http://169.254.169.254/latest/meta-data/",
+                "http://[::1]/",
+                "http://[fd00::1]/",
+                "http://[fe80::1]/",
+                "http://[::ffff:127.0.0.1]/")) {
+            assertThatIllegalArgumentException().as(url).isThrownBy(() -> anyPublicHost.check(url));
+        }
+    }
+
+    @Test
+    void allowsPublicAddresses() {
+        assertThatCode(() -> anyPublicHost.check("https://93.184.216.34/hook")).doesNotThrowAnyException();
+        assertThatCode(() -> anyPublicHost.check("https://[2606:2800:220:1::1]/hook")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void allowedHostsAreTheOnlyOnesAndMayBePrivate() {
+        PushDestinations destinations = new PushDestinations(List.of("LocalHost", " hooks.example.com "));
+
+        assertThatCode(() -> destinations.check("http://localhost:8080/a2a/push-receiver")).doesNotThrowAnyException();
+        assertThatCode(() -> destinations.check("https://hooks.example.com/a2a")).doesNotThrowAnyException();
+        assertThatIllegalArgumentException().isThrownBy(() -> destinations.check("https://93.184.216.34/hook"));
+    }
+}
@@ -0,0 +1,82 @@
+package hr.example.a2a.store;
+
+import hr.example.a2a.model.A2ATask;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryTaskStoreTest {
+
+    @Test
+    void finishedTaskMovesOutOfActiveTasks() {
+        InMemoryTaskStore store = new InMemoryTaskStore(100, Duration.ofHours(1));
+        A2ATask task = new A2ATask();
+        store.save(task);
+        task.start();
+        store.save(task);
+
+        task.finish(A2ATask.Status.COMPLETED, A2ATask.A2AMessage.agentMessage("done"), null);
+        store.save(task);
+
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(store.get(task.getId())).isSameAs(task);
+    }
+
+    @Test
+    void canceledTaskIsNotPutBackByConcurrentStart() throws Exception {
+        InMemoryTaskStore store = new InMemoryTaskStore(100, Duration.ofHours(1));
+        PausingTask task = new PausingTask();
+        store.save(task);
+
+        // The start's save reads WORKING, then the cancel runs to completion before the save continues
+        Thread starter = Thread.ofPlatform().start(() -> {
+            task.start();
+            task.pauseOnWorking(Thread.currentThread());
+            store.save(task);
+        });
+        assertThat(task.workingRead.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread canceler = Thread.ofPlatform().start(() -> {
+            task.finish(A2ATask.Status.CANCELED, null, null);
+            store.save(task);
+            task.canceled.countDown();
+        });
+        starter.join();
+        canceler.join();
+
+        assertThat(task.getStatus()).isEqualTo(A2ATask.Status.CANCELED);
+        // Held once, as a finished task; a copy left in the active map would count twice
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    /**
+     * Task whose status read in the starter's save stalls until the cancel has been saved,
+     * or for a short while if the store makes the cancel wait for that save.
+     */
+    private static final class PausingTask extends A2ATask {
+        final CountDownLatch workingRead = new CountDownLatch(1);
+        final CountDownLatch canceled = new CountDownLatch(1);
+        private volatile Thread pausing;
+
+        void pauseOnWorking(Thread thread) {
+            pausing = thread;
+        }
+
+        @Override
+        public Status getStatus() {
+            Status status = super.getStatus();
+            if (Thread.currentThread() == pausing && status == Status.WORKING && workingRead.getCount() > 0) {
+                workingRead.countDown();
+                try {
+                    canceled.await(200, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return status;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package hr.example.a2a.store;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import hr.example.a2a.model.A2ATask;
+import hr.example.a2a.model.A2ATask.Status;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JournalTaskStoreTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    @TempDir
+    Path directory;
+
+    @TempDir
+    Path crashed;
+
+    @Test
+    void recoversAfterTruncatedLastRecord() throws IOException {
+        JournalTaskStore store = open(directory, JournalTaskStore.Recovery.FAIL);
+        A2ATask completed = task("submit-contact");
+        store.save(completed);
+        completed.start();
+        store.save(completed);
+        completed.finish(Status.COMPLETED, A2ATask.A2AMessage.agentMessage("done"), null);
+        store.save(completed);
+        crash(store);
+        // A record torn by the crash, after the last acknowledged one
+        Files.writeString(crashed.resolve("tasks.journal"), "{\"taskId\":\"torn\",\"task\":{\"id\":\"to",
+                StandardOpenOption.APPEND);
+
+        JournalTaskStore recovered = open(crashed, JournalTaskStore.Recovery.FAIL);
+
+        assertThat(recovered.size()).isEqualTo(1);
+        A2ATask restored = recovered.get(completed.getId());
+        assertThat(restored.getStatus()).isEqualTo(Status.COMPLETED);
+        assertThat(restored.getResult()).isEqualTo(completed.getResult());
+        assertThat(restored.getHistory()).extracting(A2ATask.Transition::status)
+                .containsExactly(Status.SUBMITTED, Status.WORKING, Status.COMPLETED);
+        recovered.close();
+    }
+
+    @Test
+    void failsInterruptedTasksByDefault() throws IOException {
+        JournalTaskStore store = open(directory, JournalTaskStore.Recovery.FAIL);
+        A2ATask working = task("ask-assistant");
+        store.save(working);
+        working.start();
+        store.save(working);
+        crash(store);
+
+        JournalTaskStore recovered = open(crashed, JournalTaskStore.Recovery.FAIL);
+
+        assertThat(recovered.get(working.getId()).getStatus()).isEqualTo(Status.FAILED);
+        assertThat(recovered.takeInterruptedTasks()).isEmpty();
+        recovered.close();
+    }
+
+    @Test
+    void requeuesWorkingTasks() throws IOException {
+        JournalTaskStore store = open(directory, JournalTaskStore.Recovery.REQUEUE);
+        A2ATask working = task("ask-assistant");
+        store.save(working);
+        working.start();
+        store.save(working);
+        A2ATask queued = task("submit-contact");
+        store.save(queued);
+        crash(store);
+
+        JournalTaskStore recovered = open(crashed, JournalTaskStore.Recovery.REQUEUE);
+
+        List<A2ATask> interrupted = recovered.takeInterruptedTasks();
+        assertThat(interrupted).extracting(A2ATask::getId).containsExactlyInAnyOrder(working.getId(), queued.getId());
+        assertThat(interrupted).allSatisfy(task -> assertThat(task.getStatus()).isEqualTo(Status.SUBMITTED));
+        assertThat(recovered.get(working.getId()).getHistory()).extracting(A2ATask.Transition::status)
+                .containsExactly(Status.SUBMITTED, Status.WORKING, Status.SUBMITTED);
+        // Still SUBMITTED when the server stopped, so nothing is added to its history
+        assertThat(recovered.get(queued.getId()).getHistory()).extracting(A2ATask.Transition::status)
+                .containsExactly(Status.SUBMITTED);
+        assertThat(recovered.takeInterruptedTasks()).isEmpty();
+        recovered.close();
+    }
+
+    @Test
+    void replaysJournalOnTopOfSnapshot() throws IOException {
+        JournalTaskStore store = open(directory, JournalTaskStore.Recovery.FAIL);
+        A2ATask kept = task("submit-contact");
+        kept.finish(Status.COMPLETED, A2ATask.A2AMessage.agentMessage("kept"), null);
+        store.save(kept);
+        A2ATask removed = task("submit-contact");
+        removed.finish(Status.COMPLETED, A2ATask.A2AMessage.agentMessage("removed"), null);
+        store.save(removed);
+        A2ATask canceled = task("ask-assistant");
+        store.save(canceled);
+        // Writes a snapshot of all three and truncates the journal
+        store.close();
+        assertThat(Files.size(directory.resolve("tasks.journal"))).isZero();
+
+        JournalTaskStore reopened = open(directory, JournalTaskStore.Recovery.FAIL);
+        assertThat(reopened.size()).isEqualTo(3);
+        reopened.remove(removed.getId());
+        A2ATask restored = reopened.get(canceled.getId());
+        // Interrupted by the restart, so recovery already failed it; a later change is still journaled
+        assertThat(restored.getStatus()).isEqualTo(Status.FAILED);
+        A2ATask added = task("submit-employee");
+        reopened.save(added);
+        crash(reopened);
+        assertThat(Files.size(crashed.resolve("tasks.journal"))).isPositive();
+
+        JournalTaskStore recovered = open(crashed, JournalTaskStore.Recovery.FAIL);
+
+        assertThat(recovered.get(kept.getId()).getResult()).isEqualTo(kept.getResult());
+        assertThat(recovered.get(removed.getId())).isNull();
+        assertThat(recovered.get(canceled.getId()).getStatus()).isEqualTo(Status.FAILED);
+        assertThat(recovered.get(added.getId()).getStatus()).isEqualTo(Status.FAILED);
+        assertThat(recovered.size()).isEqualTo(3);
+        recovered.close();
+    }
+
+    private JournalTaskStore open(Path dir, JournalTaskStore.Recovery recovery) throws IOException {
+        return new JournalTaskStore(objectMapper, dir, 100, Duration.ofHours(1), Duration.ofHours(1), true, recovery);
+    }
+
+    /**
+     * Copy the store's files as they are on disk now, like after a crash, then close the store.
+     * Every save was synced, so the copy holds all of them and no final snapshot.
+     */
+    private void crash(JournalTaskStore store) throws IOException {
+        for (String file : List.of("tasks.journal", "tasks.snapshot")) {
+            Files.copy(directory.resolve(file), crashed.resolve(file));
+        }
+        store.close();
+    }
+
+    private static A2ATask task(String skillId) {
+        A2ATask task = new A2ATask();
+        task.setSkillId(skillId);
+        return task;
+    }
+}
@@ -0,0 +1,146 @@
+package hr.example.assistant;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CommandCoalescerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CommandCoalescer coalescer = new CommandCoalescer(meterRegistry);
+    private final AtomicInteger calls = new AtomicInteger();
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch callInterrupted = new CountDownLatch(1);
+
+    /**
+     * A model call that streams "Hel", waits to be released, then streams "lo".
+     */
+    private final Function<Consumer<String>, NavigationAction> call = onToken -> {
+        calls.incrementAndGet();
+        onToken.accept("Hel");
+        started.countDown();
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            callInterrupted.countDown();
+            throw new IllegalStateException("canceled", e);
+        }
+        onToken.accept("lo");
+        return NavigationAction.help("Hello");
+    };
+
+    @Test
+    void followersShareOneCallAndItsOutput() throws Exception {
+        StringBuilder leaderTokens = new StringBuilder();
+        StringBuilder followerTokens = new StringBuilder();
+        CompletableFuture<NavigationAction> leader = execute("key", token -> append(leaderTokens, token));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<NavigationAction> follower = execute("key", token -> append(followerTokens, token));
+        awaitFollowers(1);
+
+        release.countDown();
+
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isSameAs(leader.get(5, TimeUnit.SECONDS));
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(leaderTokens).hasToString("Hello");
+        // A late joiner first gets what was generated before it joined
+        assertThat(followerTokens).hasToString("Hello");
+    }
+
+    @Test
+    void differentKeysDoNotShareCalls() throws Exception {
+        release.countDown();
+
+        coalescer.execute("a", token -> { }, call);
+        coalescer.execute("b", token -> { }, call);
+
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void callIsCanceledOnlyWhenLastWaiterLeaves() throws Exception {
+        Waiter first = new Waiter("key");
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        Waiter second = new Waiter("key");
+        awaitFollowers(1);
+
+        first.thread.interrupt();
+        assertThatThrownBy(first.result::join).hasCauseInstanceOf(InterruptedException.class);
+        assertThat(callInterrupted.await(200, TimeUnit.MILLISECONDS)).isFalse();
+
+        second.thread.interrupt();
+        assertThatThrownBy(second.result::join).hasCauseInstanceOf(InterruptedException.class);
+        assertThat(callInterrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void abandonedCallIsNotJoined() throws Exception {
+        Waiter only = new Waiter("key");
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        only.thread.interrupt();
+        assertThat(callInterrupted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        release.countDown();
+        NavigationAction action = coalescer.execute("key", token -> { }, call);
+
+        assertThat(action.message()).isEqualTo("Hello");
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void failureReachesEveryWaiter() {
+        assertThatThrownBy(() -> coalescer.execute("key", token -> { }, onToken -> {
+            throw new IllegalArgumentException("model down");
+        })).isInstanceOf(IllegalStateException.class).hasRootCauseMessage("model down");
+    }
+
+    private CompletableFuture<NavigationAction> execute(String key, Consumer<String> onToken) {
+        return new Waiter(key, onToken).result;
+    }
+
+    private void awaitFollowers(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("assistant.llm.coalescing").tag("role", "follower").counter().count() < count) {
+            assertThat(System.nanoTime()).as("followers joined in time").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private static void append(StringBuilder tokens, String token) {
+        synchronized (tokens) {
+            tokens.append(token);
+        }
+    }
+
+    /**
+     * A caller waiting for the coalescer on its own thread.
+     */
+    private final class Waiter {
+        final CompletableFuture<NavigationAction> result = new CompletableFuture<>();
+        final Thread thread;
+
+        Waiter(String key) {
+            this(key, token -> { });
+        }
+
+        Waiter(String key, Consumer<String> onToken) {
+            thread = Thread.ofVirtual().start(() -> {
+                try {
+                    result.complete(coalescer.execute(key, onToken, call));
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package hr.example.assistant;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NavigationActionTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void immutableCopyIsDeepAndIndependentOfTheOriginal() {
+        Map<String, Object> address = new HashMap<>(Map.of("city", "Zagreb"));
+        List<Object> tags = new ArrayList<>(List.of("vip"));
+        Map<String, Object> formData = new HashMap<>();
+        formData.put("firstName", "Ana");
+        formData.put("phone", null);
+        formData.put("address", address);
+        formData.put("tags", tags);
+
+        NavigationAction copy = NavigationAction.populate("contact", formData, "Filled in").immutableCopy();
+        formData.put("firstName", "Changed");
+        address.put("city", "Split");
+        tags.add("new");
+
+        assertThat(copy.formData()).containsEntry("firstName", "Ana").containsEntry("phone", null);
+        assertThat((Map<String, Object>) copy.formData().get("address")).containsEntry("city", "Zagreb");
+        assertThat((List<Object>) copy.formData().get("tags")).containsExactly("vip");
+        assertThatThrownBy(() -> copy.formData().put("lastName", "X")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> ((Map<String, Object>) copy.formData().get("address")).put("zip", "10000"))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> ((List<Object>) copy.formData().get("tags")).add("x"))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void immutableCopyWithoutFormDataHasEmptyMap() {
+        NavigationAction copy = new NavigationAction("help", null, null, "Hi").immutableCopy();
+
+        assertThat(copy.formData()).isEmpty();
+        assertThat(copy.message()).isEqualTo("Hi");
+    }
+}
@@ -0,0 +1,78 @@
+package hr.example.assistant;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreamingMessageParserTest {
+
+    @Test
+    void returnsMessageTextAsItArrives() {
+        StreamingMessageParser parser = new StreamingMessageParser();
+
+        assertThat(parser.feed("{\"action\":\"navigate\",\"formId\":\"contact\",\"mes")).isEmpty();
+        assertThat(parser.feed("sage\":\"Open")).isEqualTo("Open");
+        assertThat(parser.feed("ing the form.\"")).isEqualTo("ing the form.");
+        assertThat(parser.feed(",\"formData\":{}}")).isEmpty();
+        assertThat(parser.message()).isEqualTo("Opening the form.");
+    }
+
+    @Test
+    void decodesEscapes() {
+        StreamingMessageParser parser = new StreamingMessageParser();
+
+        parser.feed("{\"message\":\"Say \\\"hi\\\"\\nto C:\\\\temp\\t\\/ok\"}");
+
+        assertThat(parser.message()).isEqualTo("Say \"hi\"\nto C:\\temp\t/ok");
+    }
+
+    @Test
+    void decodesEscapesSplitAcrossChunks() {
+        assertThat(feedAll("{\"message\":\"caf\\u00", "e9 \\", "n", "end\\u", "0021\"}")).isEqualTo("café \nend!");
+        // A character outside the BMP arrives as two escaped surrogates
+        assertThat(feedAll("{\"message\":\"\\ud83d", "\\ude00\"}")).isEqualTo("\uD83D\uDE00");
+    }
+
+    @Test
+    void ignoresMessageKeysInNestedObjectsAndArrays() {
+        String response = "{\"action\":\"populate\",\"formData\":{\"message\":\"nested\",\"list\":[{\"message\":\"deeper\"}]},"
+                + "\"message\":\"top\"}";
+
+        assertThat(feedAll(response)).isEqualTo("top");
+    }
+
+    @Test
+    void ignoresMessageAsValueAndTextAroundTheObject() {
+        String response = "```json\n{\"action\":\"message\",\"formId\":\"message\",\"message\":\"Done\"}\n```";
+
+        assertThat(feedAll(response)).isEqualTo("Done");
+    }
+
+    @Test
+    void sameResultForEveryChunking() {
+        String response = "{\"formData\":{\"message\":\"no\"},\"message\":\"A \\\"quote\\\" and \\u00e9\"}";
+        for (int size = 1; size <= response.length(); size++) {
+            List<String> chunks = new ArrayList<>();
+            for (int i = 0; i < response.length(); i += size) {
+                chunks.add(response.substring(i, Math.min(response.length(), i + size)));
+            }
+            assertThat(feedAll(chunks.toArray(String[]::new))).as("chunks of %d", size).isEqualTo("A \"quote\" and é");
+        }
+    }
+
+    /**
+     * Feed the chunks and return the concatenated text they added.
+     */
+    private static String feedAll(String... chunks) {
+        StreamingMessageParser parser = new StreamingMessageParser();
+        StringBuilder added = new StringBuilder();
+        for (String chunk : chunks) {
+            added.append(parser.feed(chunk));
+        }
+        assertThat(added).hasToString(parser.message());
+        return added.toString();
+    }
+}
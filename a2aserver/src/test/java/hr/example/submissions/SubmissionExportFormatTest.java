@@ -0,0 +1,52 @@
+package hr.example.submissions;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SubmissionExportFormatTest {
+
+    private static final Instant CREATED_AT = Instant.parse("2025-01-10T10:00:00Z");
+
+    @Test
+    void csvQuotesFieldsWithSeparatorsQuotesAndLineBreaks() throws IOException {
+        assertThat(csvRow("Plain", "Has, comma")).isEqualTo("CONTACT,7,Plain,\"Has, comma\",2025-01-10T10:00:00Z\r\n");
+        assertThat(csvRow("Say \"hi\"", "Two\nlines")).isEqualTo("CONTACT,7,\"Say \"\"hi\"\"\",\"Two\nlines\",2025-01-10T10:00:00Z\r\n");
+    }
+
+    @Test
+    void csvPrefixesFormulasWithAnApostrophe() throws IOException {
+        assertThat(csvRow("=HYPERLINK(\"http://example.com\")", "+1 555"))
+                .isEqualTo("CONTACT,7,\"'=HYPERLINK(\"\"http://example.com\"\")\",'+1 555,2025-01-10T10:00:00Z\r\n");
+        assertThat(csvRow("-2+3", "@SUM(A1)")).isEqualTo("CONTACT,7,'-2+3,'@SUM(A1),2025-01-10T10:00:00Z\r\n");
+        assertThat(csvRow("\tcmd", "\rcmd")).isEqualTo("CONTACT,7,'\tcmd,\"'\rcmd\",2025-01-10T10:00:00Z\r\n");
+        assertThat(csvRow("a=b", "")).isEqualTo("CONTACT,7,a=b,,2025-01-10T10:00:00Z\r\n");
+    }
+
+    @Test
+    void ndjsonWritesOneObjectPerLine() throws IOException {
+        StringWriter writer = new StringWriter();
+        SubmissionExportFormat.NDJSON.writeHeader(writer);
+        SubmissionExportFormat.NDJSON.writeRow(writer, submission("=1+1", "Two\nlines"));
+        SubmissionExportFormat.NDJSON.writeRow(writer, submission("Next", "Row"));
+
+        assertThat(writer.toString()).isEqualTo(
+                "{\"formType\":\"CONTACT\",\"id\":7,\"title\":\"=1+1\",\"description\":\"Two\\nlines\",\"createdAt\":\"2025-01-10T10:00:00Z\"}\n"
+                + "{\"formType\":\"CONTACT\",\"id\":7,\"title\":\"Next\",\"description\":\"Row\",\"createdAt\":\"2025-01-10T10:00:00Z\"}\n");
+    }
+
+    private static String csvRow(String title, String description) throws IOException {
+        StringWriter writer = new StringWriter();
+        SubmissionExportFormat.CSV.writeRow(writer, submission(title, description));
+        return writer.toString();
+    }
+
+    private static SubmissionDTO submission(String title, String description) {
+        return new SubmissionDTO(7L, "CONTACT", title, description, CREATED_AT, Map.of());
+    }
+}
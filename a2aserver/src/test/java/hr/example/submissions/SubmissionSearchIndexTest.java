@@ -0,0 +1,115 @@
+package hr.example.submissions;
+
+import hr.example.contact.Contact;
+import hr.example.support.SupportTicket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class SubmissionSearchIndexTest {
+
+    private final SubmissionSearchIndex index =
+            new SubmissionSearchIndex(mock(SubmissionRepository.class), new SimpleMeterRegistry(), true);
+
+    @Test
+    void foldsDiacriticsAndCase() {
+        index.addAll(List.of(
+                contact(1, "Ana", "Antić", null),
+                contact(2, "Đuro", "Šimić", null),
+                contact(3, "Ivo", "Horvat", null)));
+
+        assertThat(search("antic")).containsExactly(1L);
+        assertThat(search("ANTIĆ")).containsExactly(1L);
+        assertThat(search("duro simic")).containsExactly(2L);
+        assertThat(search("Đuro")).containsExactly(2L);
+    }
+
+    @Test
+    void matchesPrefixesOfEveryQueryTerm() {
+        index.addAll(List.of(
+                contact(1, "Ana", "Antić", null),
+                contact(2, "Ana", "Horvat", null)));
+
+        assertThat(search("ant")).containsExactly(1L);
+        assertThat(search("an hor")).containsExactly(2L);
+        assertThat(search("antica")).isEmpty();
+        assertThat(search("ana kovač")).isEmpty();
+    }
+
+    @Test
+    void ranksExactMatchesAbovePrefixMatches() {
+        // The exact match is the older one, so recency cannot explain the order
+        index.addAll(List.of(
+                contact(1, "Ivan", "Kovač", null),
+                contact(2, "Marko", "Ivanović", null)));
+
+        assertThat(search("ivan")).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void ranksTitleMatchesAboveTextMatches() {
+        index.addAll(List.of(
+                ticket(1, "Printer is offline", "Nothing prints since Monday"),
+                contact(2, "Iva", "Perić", "Please call me about the printer")));
+
+        assertThat(search("printer")).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void ranksRareTermsAboveCommonOnes() {
+        index.addAll(List.of(
+                contact(1, "Maja", "Babić", null),
+                contact(2, "Marko", "Horvat", null),
+                contact(3, "Marko", "Kovač", null),
+                contact(4, "Marko", "Novak", null)));
+
+        assertThat(search("ma")).startsWith(1L).hasSize(4);
+    }
+
+    @Test
+    void ranksTiesNewestFirst() {
+        index.addAll(List.of(
+                contact(1, "Ivo", "Horvat", null),
+                contact(2, "Ivo", "Horvat", null)));
+
+        assertThat(search("horvat")).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void findsRowsAddedAfterASearch() {
+        index.addAll(List.of(contact(1, "Ivo", "Horvat", null)));
+        assertThat(search("horvat")).containsExactly(1L);
+
+        index.addAll(List.of(contact(2, "Ana", "Horvat", null)));
+
+        assertThat(search("horvat")).containsExactly(2L, 1L);
+    }
+
+    private List<Long> search(String text) {
+        SubmissionSearchIndex.Hits hits = index.search(new SubmissionFilter(null, null, null, text));
+        return index.rowIds(hits, 0, hits.size());
+    }
+
+    private static Submission contact(long id, String firstName, String lastName, String message) {
+        Contact contact = new Contact(firstName, lastName, firstName.toLowerCase() + "@example.com");
+        contact.setMessage(message);
+        ReflectionTestUtils.setField(contact, "id", id);
+        return withId(Submission.of(contact), id);
+    }
+
+    private static Submission ticket(long id, String subject, String description) {
+        SupportTicket ticket = new SupportTicket(subject, description, "Reporter", "reporter@example.com");
+        ReflectionTestUtils.setField(ticket, "id", id);
+        return withId(Submission.of(ticket), id);
+    }
+
+    private static Submission withId(Submission submission, long id) {
+        ReflectionTestUtils.setField(submission, "id", id);
+        return submission;
+    }
+}